@@ -17,18 +17,124 @@ package com.github.zerkseez.reflection;
 
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractClassInfo<T extends Type> extends AbstractTypeInfo<T> {
     public AbstractClassInfo(final T type) {
         super(type);
     }
 
+    @Override
+    Map<Class<?>, TypeInfo<?>> doGetSupertypes() {
+        final Map<Class<?>, TypeInfo<?>> supertypes = new LinkedHashMap<Class<?>, TypeInfo<?>>();
+        supertypes.put(getErasedClass(), this);
+        if (getSuperClass() != null) {
+            addSupertypes(supertypes, getSuperClass());
+        }
+        for (TypeInfo<?> iface : getInterfaces()) {
+            addSupertypes(supertypes, iface);
+        }
+        if (isInterface()) {
+            supertypes.putIfAbsent(Object.class, Reflection.getTypeInfo(Object.class));
+        }
+        return supertypes;
+    }
+
+    private static void addSupertypes(final Map<Class<?>, TypeInfo<?>> supertypes, final TypeInfo<?> supertype) {
+        if (supertype instanceof AbstractTypeInfo) {
+            for (Map.Entry<Class<?>, TypeInfo<?>> entry : ((AbstractTypeInfo<?>) supertype).getSupertypes().entrySet()) {
+                supertypes.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Stream<FieldInfo> publicFields() {
+        final Set<String> names = new HashSet<String>();
+        final Stream<Supplier<Stream<FieldInfo>>> sources = Stream.of(
+                () -> getDeclaredFields().stream().filter(i -> Modifier.isPublic(i.getModifiers())),
+                () -> (getSuperClass() == null) ? Stream.empty() : getSuperClass().publicFields()
+        );
+        return filterInOrder(sources.flatMap(Supplier::get), i -> names.add(i.getName()));
+    }
+
+    @Override
+    public Stream<MethodInfo> publicMethods() {
+        final Map<String, List<MethodInfo>> methodsByName = new HashMap<String, List<MethodInfo>>();
+        final Stream<Supplier<Stream<MethodInfo>>> sources = Stream.of(
+                () -> getDeclaredMethods().stream().filter(i -> Modifier.isPublic(i.getModifiers())),
+                () -> getInheritedMethods(getSuperClass()),
+                () -> getInterfaces().stream().flatMap(i -> getInheritedMethods(i))
+        );
+        return filterInOrder(sources.flatMap(Supplier::get), i -> addIfNotOverridden(methodsByName, i));
+    }
+
+    /**
+     * Filters a stream with a predicate that keeps state. The predicate is
+     * applied as the source is iterated, one element at a time in encounter
+     * order, even if the caller makes the returned stream parallel: parallel
+     * consumers split off batches of elements that have already passed it.
+     */
+    private static <E> Stream<E> filterInOrder(final Stream<E> stream, final Predicate<E> predicate) {
+        final Iterator<E> iterator = stream.iterator();
+        final Spliterator<E> spliterator = new Spliterators.AbstractSpliterator<E>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL
+        ) {
+            @Override
+            public boolean tryAdvance(final Consumer<? super E> action) {
+                while (iterator.hasNext()) {
+                    final E element = iterator.next();
+                    if (predicate.test(element)) {
+                        action.accept(element);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(stream::close);
+    }
+
+    /**
+     * Adds the specified method unless a method with the same signature was
+     * added before. Signatures resolve the parameter types, so they are only
+     * compared between methods of the same name.
+     */
+    private static boolean addIfNotOverridden(final Map<String, List<MethodInfo>> methodsByName, final MethodInfo method) {
+        final List<MethodInfo> methods = methodsByName.computeIfAbsent(method.getName(), i -> new ArrayList<MethodInfo>(1));
+        for (MethodInfo other : methods) {
+            if (other.getSignatureKey().equals(method.getSignatureKey())) {
+                return false;
+            }
+        }
+        methods.add(method);
+        return true;
+    }
+
+    private static Stream<MethodInfo> getInheritedMethods(final TypeInfo<?> supertype) {
+        if (supertype == null) {
+            return Stream.empty();
+        }
+        return supertype.publicMethods().filter(i -> !Modifier.isStatic(i.getModifiers()));
+    }
+
     @Override
     protected List<FieldInfo> doGetPublicFields() {
         final Map<String, FieldInfo> fields = new HashMap<String, FieldInfo>();
@@ -49,29 +155,35 @@ public abstract class AbstractClassInfo<T extends Type> extends AbstractTypeInfo
 
     @Override
     protected List<MethodInfo> doGetPublicMethods() {
-        final Map<String, MethodInfo> methods = new HashMap<String, MethodInfo>();
+        final Map<MethodSignatureKey, MethodInfo> methods = new HashMap<MethodSignatureKey, MethodInfo>();
         for (TypeInfo<?> iface : getInterfaces()) {
             for (MethodInfo method : iface.getPublicMethods()) {
                 if (!Modifier.isStatic(method.getModifiers())) {
-                    methods.put(method.getSignature(), method);
+                    methods.put(method.getSignatureKey(), method);
                 }
             }
         }
         if (getSuperClass() != null) {
             for (MethodInfo method : getSuperClass().getPublicMethods()) {
                 if (!Modifier.isStatic(method.getModifiers())) {
-                    methods.put(method.getSignature(), method);
+                    methods.put(method.getSignatureKey(), method);
                 }
             }
         }
         for (MethodInfo method : getDeclaredMethods()) {
             if (Modifier.isPublic(method.getModifiers())) {
-                methods.put(method.getSignature(), method);
+                methods.put(method.getSignatureKey(), method);
             }
         }
         return Collections.unmodifiableList(
                 methods.values().stream()
-                        .sorted((a, b) -> a.getSignature().compareTo(b.getSignature()))
+                        .sorted((a, b) -> {
+                            final int nameComparisonResult = a.getName().compareTo(b.getName());
+                            if (nameComparisonResult != 0) {
+                                return nameComparisonResult;
+                            }
+                            return a.getSignature().compareTo(b.getSignature());
+                        })
                         .collect(Collectors.toList())
         );
     }
@@ -20,21 +20,58 @@ import java.lang.reflect.AnnotatedElement;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
 
 public abstract class AbstractElementInfo implements ElementInfo {
-    private final Cache<String> id;
-    
-    public AbstractElementInfo() {
-        this.id = new Cache<String>(this, () -> this.doGetId());
-    }
-    
+    private static final AtomicReferenceFieldUpdater<AbstractElementInfo, String> ID =
+            AtomicReferenceFieldUpdater.newUpdater(AbstractElementInfo.class, String.class, "id");
+
+    private static final ClassValue<CacheStatistics> ID_STATISTICS = CacheStatistics.forProperty("id");
+
+    private volatile String id = null;
+
     @Override
     public final String getId() {
-        return id.get();
+        final String result = id;
+        if (result == null) {
+            final long start = CacheStatistics.ENABLED ? System.nanoTime() : 0L;
+            final String computed = doGetId();
+            if (CacheStatistics.ENABLED) {
+                ID_STATISTICS.get(getClass()).recordMiss(System.nanoTime() - start);
+            }
+            ID.compareAndSet(this, null, computed);
+            return id;
+        }
+        if (CacheStatistics.ENABLED) {
+            ID_STATISTICS.get(getClass()).recordHit();
+        }
+        return result;
     }
 
     protected abstract String doGetId();
 
+    /**
+     * Passes every lazily computed value of this element that has already been
+     * computed to the specified action, without computing the others
+     * 
+     * @param action
+     *            The action
+     */
+    void forEachCachedValue(final Consumer<Object> action) {
+        // No cached values by default
+    }
+
+    static void acceptIfComputed(final Cache<?> cache, final Consumer<Object> action) {
+        if (cache == null) {
+            return;
+        }
+        final Object value = cache.peek();
+        if (value != null) {
+            action.accept(value);
+        }
+    }
+
     @Override
     public final List<Annotation> getAnnotations() {
         if (getAnnotatedElement() != null) {
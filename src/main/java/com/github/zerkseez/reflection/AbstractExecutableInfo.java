@@ -17,25 +17,59 @@ package com.github.zerkseez.reflection;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Executable;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public abstract class AbstractExecutableInfo<T extends Executable> extends AbstractMemberInfo {
     private final T executable;
     private final Cache<List<ParameterInfo>> parameters;
+    private final Cache<AtomicReferenceArray<TypeInfo<?>>> parameterTypes;
+    private final Cache<Type[]> genericParameterTypes;
+    private final Cache<List<Class<?>>> erasedParameterTypes;
     private final Cache<List<TypeInfo<?>>> exceptionTypes;
     private final Cache<String> signature;
     private final Cache<String> defaultStringRepresentation;
 
     public AbstractExecutableInfo(final TypeInfo<?> declaringElement, final T executable) {
-        super(declaringElement);
+        this(declaringElement, executable, null);
+    }
+
+    AbstractExecutableInfo(final TypeInfo<?> declaringElement, final AbstractExecutableInfo<T> skeleton) {
+        this(declaringElement, skeleton.getExecutable(), skeleton);
+    }
+
+    private AbstractExecutableInfo(
+            final TypeInfo<?> declaringElement,
+            final T executable,
+            final AbstractExecutableInfo<T> skeleton
+    ) {
+        super(declaringElement, skeleton);
         this.executable = executable;
-        this.parameters = new Cache<List<ParameterInfo>>(this, () -> doGetParameters());
-        this.exceptionTypes = new Cache<List<TypeInfo<?>>>(this, () -> doGetExceptionTypes());
-        this.signature = new Cache<String>(this, () -> doGetSignature());
-        this.defaultStringRepresentation = new Cache<String>(this, () -> doGetDefaultStringRepresentation());
+        this.parameters = new Cache<List<ParameterInfo>>(this, "parameters", () -> doGetParameters());
+        this.parameterTypes = new Cache<AtomicReferenceArray<TypeInfo<?>>>(
+                this, "parameterTypes", () -> new AtomicReferenceArray<TypeInfo<?>>(getParameterCount())
+        );
+        if (skeleton == null) {
+            this.genericParameterTypes = new Cache<Type[]>(this, "genericParameterTypes", () -> doGetGenericParameterTypes());
+            this.erasedParameterTypes = new Cache<List<Class<?>>>(
+                    this, "erasedParameterTypes", () -> Arrays.asList(getExecutable().getParameterTypes())
+            );
+            this.exceptionTypes = new Cache<List<TypeInfo<?>>>(this, "exceptionTypes", () -> doGetExceptionTypes());
+        }
+        else {
+            this.genericParameterTypes = null;
+            this.erasedParameterTypes = null;
+            this.exceptionTypes = null;
+        }
+        this.signature = new Cache<String>(this, "signature", () -> doGetSignature());
+        this.defaultStringRepresentation = new Cache<String>(this, "defaultStringRepresentation", () -> doGetDefaultStringRepresentation());
     }
     
     /**
@@ -62,11 +96,72 @@ public abstract class AbstractExecutableInfo<T extends Executable> extends Abstr
     }
 
     protected List<ParameterInfo> doGetParameters() {
-        return Arrays.stream(getExecutable().getParameters())
-                .map(i -> new ParameterInfo(
-                        i, resolveActualType(Reflection.getTypeInfo(i.getParameterizedType()))
-                ))
-                .collect(Collectors.toList());
+        final Parameter[] parameters = getExecutable().getParameters();
+        final List<ParameterInfo> result = new ArrayList<ParameterInfo>(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            result.add(new ParameterInfo(parameters[i], getParameterType(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of parameters without resolving their types
+     * 
+     * @return The number of parameters
+     */
+    public final int getParameterCount() {
+        return getExecutable().getParameterCount();
+    }
+
+    /**
+     * Gets the type of the parameter at the specified index. Each parameter
+     * type is resolved separately on first access, and getParameters() reuses
+     * the types resolved so far.
+     * 
+     * @param index
+     *            The index of the parameter
+     * @return The type of the parameter
+     */
+    public final TypeInfo<?> getParameterType(final int index) {
+        final AtomicReferenceArray<TypeInfo<?>> types = parameterTypes.get();
+        final TypeInfo<?> result = types.get(index);
+        if (result == null) {
+            types.compareAndSet(index, null, doGetParameterType(index));
+            return types.get(index);
+        }
+        return result;
+    }
+
+    protected TypeInfo<?> doGetParameterType(final int index) {
+        if (getSkeleton() != null) {
+            // Only the type arguments differ from the skeleton, so resolve its
+            // parameter type instead of reading the generic one again
+            return resolveActualType(((AbstractExecutableInfo<?>) getSkeleton()).getParameterType(index));
+        }
+        return resolveActualType(Reflection.getTypeInfo(genericParameterTypes.get()[index]));
+    }
+
+    private Type[] doGetGenericParameterTypes() {
+        final Type[] types = getExecutable().getGenericParameterTypes();
+        if (types.length != getParameterCount()) {
+            // Like Parameter.getParameterizedType(), fall back to the erased
+            // types when the generic signature leaves out synthetic parameters
+            return getExecutable().getParameterTypes();
+        }
+        return types;
+    }
+
+    /**
+     * Gets the erased parameter types, i.e. the classes that
+     * Executable.getParameterTypes() returns, without copying them on each call
+     * 
+     * @return The erased parameter types
+     */
+    public final List<Class<?>> getErasedParameterTypes() {
+        if (getSkeleton() != null) {
+            return ((AbstractExecutableInfo<?>) getSkeleton()).getErasedParameterTypes();
+        }
+        return Collections.unmodifiableList(erasedParameterTypes.get());
     }
     
     /**
@@ -75,6 +170,9 @@ public abstract class AbstractExecutableInfo<T extends Executable> extends Abstr
      * @return The list of exception types
      */
     public final List<TypeInfo<?>> getExceptionTypes() {
+        if (getSkeleton() != null) {
+            return ((AbstractExecutableInfo<?>) getSkeleton()).getExceptionTypes();
+        }
         return Collections.unmodifiableList(exceptionTypes.get());
     }
 
@@ -83,6 +181,23 @@ public abstract class AbstractExecutableInfo<T extends Executable> extends Abstr
                 .map(i -> Reflection.getTypeInfo(i))
                 .collect(Collectors.toList());
     }
+
+    @Override
+    void forEachCachedValue(final Consumer<Object> action) {
+        super.forEachCachedValue(action);
+        acceptIfComputed(parameters, action);
+        acceptIfComputed(erasedParameterTypes, action);
+        final AtomicReferenceArray<TypeInfo<?>> types = parameterTypes.peek();
+        if (types != null) {
+            for (int i = 0; i < types.length(); i++) {
+                final TypeInfo<?> type = types.get(i);
+                if (type != null) {
+                    action.accept(type);
+                }
+            }
+        }
+        acceptIfComputed(exceptionTypes, action);
+    }
     
     /**
      * Gets the signature of this executable
@@ -98,7 +213,7 @@ public abstract class AbstractExecutableInfo<T extends Executable> extends Abstr
     @Override
     protected List<TypeVariableInfo> doGetDeclaredTypeVariables() {
         return Arrays.stream(getExecutable().getTypeParameters())
-                .map(i -> new TypeVariableInfo(i))
+                .map(i -> TypeVariableInfo.of(i))
                 .collect(Collectors.toList());
     }
 
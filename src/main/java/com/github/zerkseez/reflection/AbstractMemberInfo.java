@@ -19,20 +19,48 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class AbstractMemberInfo extends AbstractElementInfo implements HasTypeVariables {
 	private final ElementInfo declaringElement;
+	private final AbstractMemberInfo skeleton;
 	private final Cache<List<TypeVariableInfo>> typeVariables;
 	private final Cache<List<TypeVariableInfo>> declaredTypeVariables;
 	private final Cache<Integer> modifiers;
+	private final Cache<TypeBindings> typeBindings;
     private final Cache<String> name;
 	
 	protected AbstractMemberInfo(final ElementInfo declaringElement) {
+		this(declaringElement, null);
+	}
+
+	/**
+	 * Creates a view of the specified skeleton, i.e. the same member of the
+	 * raw class, as a member of a parameterization of that class. The name,
+	 * modifiers and declared type variables do not depend on the type
+	 * arguments, so they are read from the skeleton instead of being cached
+	 * again.
+	 * 
+	 * @param declaringElement
+	 *            The parameterized type
+	 * @param skeleton
+	 *            The member of the raw class; null if this is not a view
+	 */
+	AbstractMemberInfo(final ElementInfo declaringElement, final AbstractMemberInfo skeleton) {
 		this.declaringElement = declaringElement;
-		this.typeVariables = new Cache<List<TypeVariableInfo>>(this, () -> doGetTypeVariables());
-		this.declaredTypeVariables = new Cache<List<TypeVariableInfo>>(this, () -> doGetDeclaredTypeVariables());
-		this.modifiers = new Cache<Integer>(this, () -> doGetModifiers());
-        this.name = new Cache<String>(this, () -> doGetName());
+		this.skeleton = skeleton;
+		this.typeVariables = new Cache<List<TypeVariableInfo>>(this, "typeVariables", () -> doGetTypeVariables());
+		this.typeBindings = new Cache<TypeBindings>(this, "typeBindings", () -> createTypeBindings());
+		if (skeleton == null) {
+			this.declaredTypeVariables = new Cache<List<TypeVariableInfo>>(this, "declaredTypeVariables", () -> doGetDeclaredTypeVariables());
+			this.modifiers = new Cache<Integer>(this, "modifiers", () -> doGetModifiers());
+			this.name = new Cache<String>(this, "name", () -> doGetName());
+		}
+		else {
+			this.declaredTypeVariables = null;
+			this.modifiers = null;
+			this.name = null;
+		}
 	}
 
 	/**
@@ -43,6 +71,15 @@ public abstract class AbstractMemberInfo extends AbstractElementInfo implements
 	public ElementInfo getDeclaringElement() {
 		return declaringElement;
 	}
+
+	/**
+	 * Gets the member of the raw class this member is a view of
+	 * 
+	 * @return The member of the raw class; null if this is not a view
+	 */
+	AbstractMemberInfo getSkeleton() {
+		return skeleton;
+	}
 	
 	/**
 	 * Gets the modifiers of this member
@@ -50,6 +87,9 @@ public abstract class AbstractMemberInfo extends AbstractElementInfo implements
 	 * @return The modifiers of this member
 	 */
 	public final int getModifiers() {
+        if (skeleton != null) {
+            return skeleton.getModifiers();
+        }
         return modifiers.get();
     }
 
@@ -61,6 +101,9 @@ public abstract class AbstractMemberInfo extends AbstractElementInfo implements
      * @return The name of this member
      */
     public final String getName() {
+        if (skeleton != null) {
+            return skeleton.getName();
+        }
         return name.get();
     }
     
@@ -92,35 +135,76 @@ public abstract class AbstractMemberInfo extends AbstractElementInfo implements
 	
 	@Override
     public final List<TypeVariableInfo> getDeclaredTypeVariables() {
+        if (skeleton != null) {
+            return skeleton.getDeclaredTypeVariables();
+        }
         return Collections.unmodifiableList(declaredTypeVariables.get());
     }
 	
 	protected abstract List<TypeVariableInfo> doGetDeclaredTypeVariables();
 
+	@Override
+	void forEachCachedValue(final Consumer<Object> action) {
+		acceptIfComputed(typeVariables, action);
+		acceptIfComputed(declaredTypeVariables, action);
+		acceptIfComputed(typeBindings, action);
+	}
+
+	private TypeBindings createTypeBindings() {
+		if (getDeclaringElement() instanceof AbstractTypeInfo) {
+			// Members that see exactly the type variables of the declaring type
+			// share its environment, and with it the memoized results
+			final AbstractTypeInfo<?> declaringType = (AbstractTypeInfo<?>) getDeclaringElement();
+			if (declaringType.getTypeVariables().equals(getTypeVariables())) {
+				return declaringType.getTypeBindings();
+			}
+		}
+		return TypeBindings.of(getTypeVariables());
+	}
+
+	/**
+	 * Replaces the type variables in the specified type that have values in
+	 * this member. Types that none of the values can change are returned as
+	 * they are; other results are memoized.
+	 * 
+	 * @param type
+	 *            The type
+	 * @return The resolved type
+	 */
 	protected TypeInfo<?> resolveActualType(final TypeInfo<?> type) {
+		if (type == null || type instanceof ClassInfo) {
+			return type;
+		}
+		final TypeBindings bindings = typeBindings.get();
+		if (!bindings.affects(TypeBindings.getSubstitutionKeys(type))) {
+			return type;
+		}
 		if (type instanceof TypeVariableInfo) {
-			for (int i = 0; i < getTypeVariables().size(); i++) {
-				final TypeVariableInfo typeVariable = getTypeVariables().get(i);
-				if (type.getId().equals(typeVariable.getId()) && typeVariable.getTypeVariableValue() != null) {
-					return typeVariable.getTypeVariableValue();
-				}
+			final TypeVariableInfo binding = bindings.get((TypeVariableInfo)type);
+			if (binding != null && binding.getTypeVariableValue() != null) {
+				return binding.getTypeVariableValue();
 			}
 			if (type.getTypeVariableValue() != null) {
 				return resolveActualType(type.getTypeVariableValue());
 			}
+			return type;
 		}
-		else if (type instanceof GenericArrayInfo) {
-			return new GenericArrayInfo(
+		return bindings.resolve(type, i -> doResolveActualType(i));
+	}
+
+	private TypeInfo<?> doResolveActualType(final TypeInfo<?> type) {
+		if (type instanceof GenericArrayInfo) {
+			return TypeInterner.intern(new GenericArrayInfo(
 					((GenericArrayInfo)type).getType(),
 					resolveActualType(type.getArrayElementType())
-			);
+			));
 		}
 		else if (type instanceof ParameterizedTypeInfo) {
 			final List<TypeVariableInfo> typeVariables = new ArrayList<TypeVariableInfo>();
 			for (TypeVariableInfo typeVariable : type.getTypeVariables()) {
 				typeVariables.add(typeVariable.withValue(resolveActualType(typeVariable.getTypeVariableValue())));
 			}
-			return new ParameterizedTypeInfo(((ParameterizedTypeInfo)type).getType(), typeVariables);
+			return TypeInterner.intern(new ParameterizedTypeInfo(((ParameterizedTypeInfo)type).getType(), typeVariables));
 		}
 		else if (type instanceof WildcardTypeInfo) {
 			final List<TypeInfo<?>> superBounds = new ArrayList<TypeInfo<?>>();
@@ -131,7 +215,7 @@ public abstract class AbstractMemberInfo extends AbstractElementInfo implements
 			for (TypeInfo<?> extendsBound : type.getExtendsBounds()) {
 				extendsBounds.add(resolveActualType(extendsBound));
 			}
-			return new WildcardTypeInfo(((WildcardTypeInfo)type).getType(), extendsBounds, superBounds);
+			return TypeInterner.intern(new WildcardTypeInfo(((WildcardTypeInfo)type).getType(), extendsBounds, superBounds));
 		}
         return type;
     }
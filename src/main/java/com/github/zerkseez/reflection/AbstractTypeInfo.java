@@ -15,85 +15,238 @@
  *******************************************************************************/
 package com.github.zerkseez.reflection;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public abstract class AbstractTypeInfo<T extends Type> extends AbstractElementInfo implements TypeInfo<T> {
+    private static final CacheLayout<AbstractTypeInfo<?>> LAYOUT = new CacheLayout<AbstractTypeInfo<?>>();
+    private static final CacheSlot<AbstractTypeInfo<?>, Class<?>> ERASED_CLASS =
+            LAYOUT.slot("erasedClass", AbstractTypeInfo::doGetErasedClass);
+    private static final CacheSlot<AbstractTypeInfo<?>, String> FULL_BINARY_NAME =
+            LAYOUT.slot("fullBinaryName", AbstractTypeInfo::doGetFullBinaryName);
+    private static final CacheSlot<AbstractTypeInfo<?>, String> FULL_CANONICAL_NAME =
+            LAYOUT.slot("fullCanonicalName", AbstractTypeInfo::doGetFullCanonicalName);
+    private static final CacheSlot<AbstractTypeInfo<?>, String> SIMPLE_NAME =
+            LAYOUT.slot("simpleName", AbstractTypeInfo::doGetSimpleName);
+    private static final CacheSlot<AbstractTypeInfo<?>, String> PACKAGE_NAME =
+            LAYOUT.slot("packageName", AbstractTypeInfo::doGetPackageName);
+    private static final CacheSlot<AbstractTypeInfo<?>, Integer> MODIFIERS =
+            LAYOUT.slot("modifiers", AbstractTypeInfo::doGetModifiers);
+    private static final CacheSlot<AbstractTypeInfo<?>, TypeInfo<?>> SUPER_CLASS =
+            LAYOUT.slot("superClass", AbstractTypeInfo::doGetSuperClass);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<TypeInfo<?>>> INTERFACES =
+            LAYOUT.slot("interfaces", AbstractTypeInfo::doGetInterfaces);
+    private static final CacheSlot<AbstractTypeInfo<?>, Map<Class<?>, TypeInfo<?>>> SUPERTYPES =
+            LAYOUT.slot("supertypes", AbstractTypeInfo::doGetSupertypes);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<TypeInfo<?>>> ALL_SUPERTYPES =
+            LAYOUT.slot("allSupertypes", AbstractTypeInfo::doGetAllSupertypes);
+    private static final CacheSlot<AbstractTypeInfo<?>, int[]> SUPERTYPE_IDS =
+            LAYOUT.slot("supertypeIds", AbstractTypeInfo::doGetSupertypeIds);
+    private static final CacheSlot<AbstractTypeInfo<?>, WeakTypeMap<Boolean>> ASSIGNABLE_FROM =
+            LAYOUT.slot("assignableFrom", i -> new WeakTypeMap<Boolean>());
+    private static final CacheSlot<AbstractTypeInfo<?>, DispatchCache> METHOD_DISPATCH =
+            LAYOUT.slot("methodDispatch", i -> new DispatchCache());
+    private static final CacheSlot<AbstractTypeInfo<?>, List<FieldInfo>> PUBLIC_FIELDS =
+            LAYOUT.slot("publicFields", AbstractTypeInfo::doGetPublicFields);
+    private static final CacheSlot<AbstractTypeInfo<?>, Map<String, FieldInfo>> PUBLIC_FIELD_INDEX =
+            LAYOUT.slot("publicFieldIndex", AbstractTypeInfo::doGetPublicFieldIndex);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<FieldInfo>> DECLARED_FIELDS =
+            LAYOUT.slot("declaredFields", AbstractTypeInfo::doGetDeclaredFields);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<ConstructorInfo>> PUBLIC_CONSTRUCTORS =
+            LAYOUT.slot("publicConstructors", AbstractTypeInfo::doGetPublicConstructors);
+    private static final CacheSlot<AbstractTypeInfo<?>, Map<List<Class<?>>, ConstructorInfo>> PUBLIC_CONSTRUCTOR_INDEX =
+            LAYOUT.slot("publicConstructorIndex", AbstractTypeInfo::doGetPublicConstructorIndex);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<ConstructorInfo>> DECLARED_CONSTRUCTORS =
+            LAYOUT.slot("declaredConstructors", AbstractTypeInfo::doGetDeclaredConstructors);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<MethodInfo>> PUBLIC_METHODS =
+            LAYOUT.slot("publicMethods", AbstractTypeInfo::doGetPublicMethods);
+    private static final CacheSlot<AbstractTypeInfo<?>, Map<String, Map<List<Class<?>>, MethodInfo>>> PUBLIC_METHOD_INDEX =
+            LAYOUT.slot("publicMethodIndex", AbstractTypeInfo::doGetPublicMethodIndex);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<MethodInfo>> DECLARED_METHODS =
+            LAYOUT.slot("declaredMethods", AbstractTypeInfo::doGetDeclaredMethods);
+    private static final CacheSlot<AbstractTypeInfo<?>, Map<String, List<MethodInfo>>> DECLARED_METHODS_BY_NAME =
+            LAYOUT.slot("declaredMethodsByName", AbstractTypeInfo::doGetDeclaredMethodsByName);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_PRIMITIVE =
+            LAYOUT.slot("isPrimitive", AbstractTypeInfo::doGetIsPrimitive);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_ARRAY =
+            LAYOUT.slot("isArray", AbstractTypeInfo::doGetIsArray);
+    private static final CacheSlot<AbstractTypeInfo<?>, TypeInfo<?>> ARRAY_ELEMENT_TYPE =
+            LAYOUT.slot("arrayElementType", AbstractTypeInfo::doGetArrayElementType);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_ENUM =
+            LAYOUT.slot("isEnum", AbstractTypeInfo::doGetIsEnum);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<Object>> ENUM_VALUES =
+            LAYOUT.slot("enumValues", AbstractTypeInfo::doGetEnumValues);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_INTERFACE =
+            LAYOUT.slot("isInterface", AbstractTypeInfo::doGetIsInterface);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_ANNOTATION =
+            LAYOUT.slot("isAnnotation", AbstractTypeInfo::doGetIsAnnotation);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_ANONYMOUS_CLASS =
+            LAYOUT.slot("isAnonymousClass", AbstractTypeInfo::doGetIsAnonymousClass);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_MEMBER_CLASS =
+            LAYOUT.slot("isMemberClass", AbstractTypeInfo::doGetIsMemberClass);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_LOCAL_CLASS =
+            LAYOUT.slot("isLocalClass", AbstractTypeInfo::doGetIsLocalClass);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_SYNTHETIC =
+            LAYOUT.slot("isSynthetic", AbstractTypeInfo::doGetIsSynthetic);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_TYPE_VARIABLE =
+            LAYOUT.slot("isTypeVariable", AbstractTypeInfo::doGetIsTypeVariable);
+    private static final CacheSlot<AbstractTypeInfo<?>, String> TYPE_VARIABLE_NAME =
+            LAYOUT.slot("typeVariableName", AbstractTypeInfo::doGetTypeVariableName);
+    private static final CacheSlot<AbstractTypeInfo<?>, TypeInfo<?>> TYPE_VARIABLE_VALUE =
+            LAYOUT.slot("typeVariableValue", AbstractTypeInfo::doGetTypeVariableValue);
+    private static final CacheSlot<AbstractTypeInfo<?>, Boolean> IS_WILDCARD_TYPE =
+            LAYOUT.slot("isWildcardType", AbstractTypeInfo::doGetIsWildcardType);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<TypeInfo<?>>> EXTENDS_BOUNDS =
+            LAYOUT.slot("extendsBounds", AbstractTypeInfo::doGetExtendsBounds);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<TypeInfo<?>>> SUPER_BOUNDS =
+            LAYOUT.slot("superBounds", AbstractTypeInfo::doGetSuperBounds);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<TypeVariableInfo>> TYPE_VARIABLES =
+            LAYOUT.slot("typeVariables", AbstractTypeInfo::doGetTypeVariables);
+    private static final CacheSlot<AbstractTypeInfo<?>, List<TypeVariableInfo>> DECLARED_TYPE_VARIABLES =
+            LAYOUT.slot("declaredTypeVariables", AbstractTypeInfo::doGetDeclaredTypeVariables);
+    private static final CacheSlot<AbstractTypeInfo<?>, String> DEFAULT_STRING_REPRESENTATION =
+            LAYOUT.slot("defaultStringRepresentation", AbstractTypeInfo::doGetDefaultStringRepresentation);
+    private static final CacheSlot<AbstractTypeInfo<?>, ConcurrentMap<Member, AbstractMemberInfo>> MEMBERS =
+            LAYOUT.slot("members", i -> new ConcurrentHashMap<Member, AbstractMemberInfo>());
+    private static final CacheSlot<AbstractTypeInfo<?>, Set<Object>> SUBSTITUTION_KEYS =
+            LAYOUT.slot("substitutionKeys", AbstractTypeInfo::doGetSubstitutionKeys);
+    private static final CacheSlot<AbstractTypeInfo<?>, TypeBindings> TYPE_BINDINGS =
+            LAYOUT.slot("typeBindings", i -> TypeBindings.of(i.getTypeVariables()));
+    private static final CacheSlot<AbstractTypeInfo<?>, RawClassInfo> RAW_VIEW =
+            LAYOUT.slot("rawView", i -> new RawClassInfo(i.getErasedClass()));
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<AbstractTypeInfo, AtomicReferenceArray> CACHED_VALUES =
+            AtomicReferenceFieldUpdater.newUpdater(AbstractTypeInfo.class, AtomicReferenceArray.class, "cachedValues");
+
     private final T type;
-    private final Cache<Class<?>> erasedClass;
-    private final Cache<String> fullBinaryName;
-    private final Cache<String> fullCanonicalName;
-    private final Cache<String> simpleName;
-    private final Cache<String> packageName;
-    private final Cache<Integer> modifiers;
-    private final Cache<TypeInfo<?>> superClass;
-    private final Cache<List<TypeInfo<?>>> interfaces;
-    private final Cache<List<FieldInfo>> publicFields;
-    private final Cache<List<FieldInfo>> declaredFields;
-    private final Cache<List<ConstructorInfo>> publicConstructors;
-    private final Cache<List<ConstructorInfo>> declaredConstructors;
-    private final Cache<List<MethodInfo>> publicMethods;
-    private final Cache<List<MethodInfo>> declaredMethods;
-    private final Cache<Boolean> isPrimitive;
-    private final Cache<Boolean> isArray;
-    private final Cache<TypeInfo<?>> arrayElementType;
-    private final Cache<Boolean> isEnum;
-    private final Cache<List<Object>> enumValues;
-    private final Cache<Boolean> isInterface;
-    private final Cache<Boolean> isAnnotation;
-    private final Cache<Boolean> isAnonymousClass;
-    private final Cache<Boolean> isMemberClass;
-    private final Cache<Boolean> isLocalClass;
-    private final Cache<Boolean> isSynthetic;
-    private final Cache<Boolean> isTypeVariable;
-    private final Cache<String> typeVariableName;
-    private final Cache<TypeInfo<?>> typeVariableValue;
-    private final Cache<Boolean> isWildcardType;
-    private final Cache<List<TypeInfo<?>>> extendsBounds;
-    private final Cache<List<TypeInfo<?>>> superBounds;
-    private final Cache<List<TypeVariableInfo>> typeVariables;
-    private final Cache<List<TypeVariableInfo>> declaredTypeVariables;
-    private final Cache<String> defaultStringRepresentation;
+    private volatile AtomicReferenceArray<Object> cachedValues = null;
+    private int hash = 0;
 
     public AbstractTypeInfo(final T type) {
         this.type = type;
-        this.erasedClass = new Cache<Class<?>>(this, () -> this.doGetErasedClass());
-        this.fullBinaryName = new Cache<String>(this, () -> this.doGetFullBinaryName());
-        this.fullCanonicalName = new Cache<String>(this, () -> this.doGetFullCanonicalName());
-        this.simpleName = new Cache<String>(this, () -> this.doGetSimpleName());
-        this.packageName = new Cache<String>(this, () -> this.doGetPackageName());
-        this.modifiers = new Cache<Integer>(this, () -> this.doGetModifiers());
-        this.superClass = new Cache<TypeInfo<?>>(this, () -> this.doGetSuperClass());
-        this.interfaces = new Cache<List<TypeInfo<?>>>(this, () -> this.doGetInterfaces());
-        this.publicFields = new Cache<List<FieldInfo>>(this, () -> this.doGetPublicFields());
-        this.declaredFields = new Cache<List<FieldInfo>>(this, () -> this.doGetDeclaredFields());
-        this.publicConstructors = new Cache<List<ConstructorInfo>>(this, () -> this.doGetPublicConstructors());
-        this.declaredConstructors = new Cache<List<ConstructorInfo>>(this, () -> this.doGetDeclaredConstructors());
-        this.publicMethods = new Cache<List<MethodInfo>>(this, () -> this.doGetPublicMethods());
-        this.declaredMethods = new Cache<List<MethodInfo>>(this, () -> this.doGetDeclaredMethods());
-        this.isPrimitive = new Cache<Boolean>(this, () -> this.doGetIsPrimitive());
-        this.isArray = new Cache<Boolean>(this, () -> this.doGetIsArray());
-        this.arrayElementType = new Cache<TypeInfo<?>>(this, () -> this.doGetArrayElementType());
-        this.isEnum = new Cache<Boolean>(this, () -> this.doGetIsEnum());
-        this.enumValues = new Cache<List<Object>>(this, () -> this.doGetEnumValues());
-        this.isInterface = new Cache<Boolean>(this, () -> this.doGetIsInterface());
-        this.isAnnotation = new Cache<Boolean>(this, () -> this.doGetIsAnnotation());
-        this.isAnonymousClass = new Cache<Boolean>(this, () -> this.doGetIsAnonymousClass());
-        this.isMemberClass = new Cache<Boolean>(this, () -> this.doGetIsMemberClass());
-        this.isLocalClass = new Cache<Boolean>(this, () -> this.doGetIsLocalClass());
-        this.isSynthetic = new Cache<Boolean>(this, () -> this.doGetIsSynthetic());
-        this.isTypeVariable = new Cache<Boolean>(this, () -> this.doGetIsTypeVariable());
-        this.typeVariableName = new Cache<String>(this, () -> this.doGetTypeVariableName());
-        this.typeVariableValue = new Cache<TypeInfo<?>>(this, () -> this.doGetTypeVariableValue());
-        this.isWildcardType = new Cache<Boolean>(this, () -> this.doGetIsWildcardType());
-        this.extendsBounds = new Cache<List<TypeInfo<?>>>(this, () -> this.doGetExtendsBounds());
-        this.superBounds = new Cache<List<TypeInfo<?>>>(this, () -> this.doGetSuperBounds());
-        this.typeVariables = new Cache<List<TypeVariableInfo>>(this, () -> this.doGetTypeVariables());
-        this.declaredTypeVariables = new Cache<List<TypeVariableInfo>>(this, () -> this.doGetDeclaredTypeVariables());
-        this.defaultStringRepresentation = new Cache<String>(this, () -> this.doGetDefaultStringRepresentation());
+    }
+
+    private <V> V getCached(final CacheSlot<AbstractTypeInfo<?>, V> slot) {
+        AtomicReferenceArray<Object> values = cachedValues;
+        if (values == null) {
+            CACHED_VALUES.compareAndSet(this, null, LAYOUT.newValues());
+            values = cachedValues;
+        }
+        return slot.get(this, values);
+    }
+
+    /**
+     * Gets the canonical MethodInfo object for the specified method as a
+     * member of this type. Every list and lookup that reaches the method
+     * through this type shares the same object, and with it the resolved
+     * parameters, return type and string representation.
+     * 
+     * @param method
+     *            The method
+     * @return The canonical MethodInfo object
+     */
+    final MethodInfo getMemberInfo(final Method method) {
+        return getMemberInfo(method, i -> createMemberInfo(method));
+    }
+
+    /**
+     * Gets the canonical FieldInfo object for the specified field as a member
+     * of this type
+     * 
+     * @param field
+     *            The field
+     * @return The canonical FieldInfo object
+     */
+    final FieldInfo getMemberInfo(final Field field) {
+        return getMemberInfo(field, i -> createMemberInfo(field));
+    }
+
+    /**
+     * Gets the canonical ConstructorInfo object for the specified constructor
+     * as a member of this type
+     * 
+     * @param constructor
+     *            The constructor
+     * @return The canonical ConstructorInfo object
+     */
+    final ConstructorInfo getMemberInfo(final Constructor<?> constructor) {
+        return getMemberInfo(constructor, i -> createMemberInfo(constructor));
+    }
+
+    MethodInfo createMemberInfo(final Method method) {
+        return new MethodInfo(this, method);
+    }
+
+    FieldInfo createMemberInfo(final Field field) {
+        return new FieldInfo(this, field);
+    }
+
+    ConstructorInfo createMemberInfo(final Constructor<?> constructor) {
+        return new ConstructorInfo(this, constructor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <M extends AbstractMemberInfo> M getMemberInfo(final Member member, final Function<Member, M> factory) {
+        return (M) getCached(MEMBERS).computeIfAbsent(member, factory);
+    }
+
+    /**
+     * Gets the erasure-only view of the erased class of this type; see
+     * Reflection.getRawTypeInfo()
+     * 
+     * @return The raw view
+     */
+    final ClassInfo getRawView() {
+        return getCached(RAW_VIEW);
+    }
+
+    /**
+     * Gets the raw view of this type if it has been created
+     * 
+     * @return The raw view; null if it has not been created
+     */
+    final ClassInfo peekRawView() {
+        final AtomicReferenceArray<Object> values = cachedValues;
+        return (values == null) ? null : RAW_VIEW.peek(values);
+    }
+
+    @Override
+    final void forEachCachedValue(final Consumer<Object> action) {
+        final AtomicReferenceArray<Object> values = cachedValues;
+        if (values != null) {
+            for (int i = 0; i < values.length(); i++) {
+                final Object value = values.get(i);
+                if (value != null) {
+                    action.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards all lazily computed values of this type, so that they are
+     * computed again on their next access
+     */
+    final void clearCachedValues() {
+        cachedValues = null;
     }
 
     @Override
@@ -103,227 +256,360 @@ public abstract class AbstractTypeInfo<T extends Type> extends AbstractElementIn
 
     @Override
     public final Class<?> getErasedClass() {
-        return erasedClass.get();
+        return getCached(ERASED_CLASS);
     }
 
     protected abstract Class<?> doGetErasedClass();
 
     @Override
     public final String getFullBinaryName() {
-        return fullBinaryName.get();
+        return getCached(FULL_BINARY_NAME);
     }
 
     protected abstract String doGetFullBinaryName();
 
     @Override
     public final String getFullCanonicalName() {
-        return fullCanonicalName.get();
+        return getCached(FULL_CANONICAL_NAME);
     }
 
     protected abstract String doGetFullCanonicalName();
 
     @Override
     public final String getSimpleName() {
-        return simpleName.get();
+        return getCached(SIMPLE_NAME);
     }
 
     protected abstract String doGetSimpleName();
 
     @Override
     public final String getPackageName() {
-        return packageName.get();
+        return getCached(PACKAGE_NAME);
     }
 
     protected abstract String doGetPackageName();
 
     @Override
     public final int getModifiers() {
-        return modifiers.get();
+        return getCached(MODIFIERS);
     }
 
     protected abstract int doGetModifiers();
 
     @Override
     public final TypeInfo<?> getSuperClass() {
-        return superClass.get();
+        return getCached(SUPER_CLASS);
     }
 
     protected abstract TypeInfo<?> doGetSuperClass();
 
     @Override
     public final List<TypeInfo<?>> getInterfaces() {
-        return Collections.unmodifiableList(interfaces.get());
+        return Collections.unmodifiableList(getCached(INTERFACES));
     }
 
     protected abstract List<TypeInfo<?>> doGetInterfaces();
 
+    @Override
+    public final TypeInfo<?> getSupertype(final Class<?> target) {
+        return getSupertypes().get(target);
+    }
+
+    /**
+     * Gets the supertypes of this type, including this type itself, keyed by
+     * their classes. The super-class and its supertypes come first, followed
+     * by the interfaces in declaration order.
+     * 
+     * @return The supertypes of this type
+     */
+    final Map<Class<?>, TypeInfo<?>> getSupertypes() {
+        return getCached(SUPERTYPES);
+    }
+
+    Map<Class<?>, TypeInfo<?>> doGetSupertypes() {
+        return Collections.emptyMap();
+    }
+
+    @Override
+    public final List<TypeInfo<?>> getAllSupertypes() {
+        return Collections.unmodifiableList(getCached(ALL_SUPERTYPES));
+    }
+
+    private List<TypeInfo<?>> doGetAllSupertypes() {
+        final List<TypeInfo<?>> result = new ArrayList<TypeInfo<?>>(getSupertypes().values());
+        result.remove(this);
+        return result;
+    }
+
+    @Override
+    public final boolean isSubclassOf(final Class<?> target) {
+        final Class<?> erasedClass = getErasedClass();
+        if (erasedClass == null) {
+            return false;
+        }
+        if (erasedClass.isArray() && target.isArray()
+                && !erasedClass.getComponentType().isPrimitive() && !target.getComponentType().isPrimitive()) {
+            return ClassInfo.of(erasedClass.getComponentType()).isSubclassOf(target.getComponentType());
+        }
+        // All parameterizations of a class share the ids of the raw class
+        return Arrays.binarySearch(ClassInfo.of(erasedClass).getSupertypeIds(), ClassInfo.getClassId(target)) >= 0;
+    }
+
+    /**
+     * Gets the sorted class ids of the erased supertypes of this type,
+     * including its own. The size depends only on the number of supertypes,
+     * not on how many classes have been assigned ids.
+     * 
+     * @return The sorted supertype ids
+     */
+    final int[] getSupertypeIds() {
+        return getCached(SUPERTYPE_IDS);
+    }
+
+    @Override
+    public final boolean isAssignableFrom(final TypeInfo<?> type) {
+        if (type == this) {
+            return true;
+        }
+        if (type == null) {
+            return false;
+        }
+        // Keyed weakly, since this type may outlive the class loader of the
+        // other type
+        final WeakTypeMap<Boolean> results = getCached(ASSIGNABLE_FROM);
+        final Boolean result = results.get(type);
+        if (result != null) {
+            return result;
+        }
+        return results.putIfAbsent(type, Subtyping.isSubtype(type, this));
+    }
+
+    private int[] doGetSupertypeIds() {
+        return getSupertypes().keySet().stream()
+                .mapToInt(i -> ClassInfo.getClassId(i))
+                .sorted()
+                .toArray();
+    }
+
     @Override
     public final List<FieldInfo> getPublicFields() {
-        return Collections.unmodifiableList(publicFields.get());
+        return Collections.unmodifiableList(getCached(PUBLIC_FIELDS));
     }
 
     protected abstract List<FieldInfo> doGetPublicFields();
 
     @Override
     public FieldInfo getPublicField(final String name) {
+        return getCached(PUBLIC_FIELD_INDEX).get(name);
+    }
+
+    private Map<String, FieldInfo> doGetPublicFieldIndex() {
+        final Map<String, FieldInfo> index = new HashMap<String, FieldInfo>();
         for (FieldInfo fieldInfo : getPublicFields()) {
-            if (fieldInfo.getName().equals(name)) {
-                return fieldInfo;
-            }
+            index.putIfAbsent(fieldInfo.getName(), fieldInfo);
         }
-        return null;
+        return index;
     }
 
     @Override
     public final List<FieldInfo> getDeclaredFields() {
-        return Collections.unmodifiableList(declaredFields.get());
+        return Collections.unmodifiableList(getCached(DECLARED_FIELDS));
     }
 
     protected abstract List<FieldInfo> doGetDeclaredFields();
     
     @Override
     public final List<ConstructorInfo> getPublicConstructors() {
-        return Collections.unmodifiableList(publicConstructors.get());
+        return Collections.unmodifiableList(getCached(PUBLIC_CONSTRUCTORS));
     }
 
     protected abstract List<ConstructorInfo> doGetPublicConstructors();
+
+    @Override
+    public final ConstructorInfo getPublicConstructor(final Class<?>... parameterTypes) {
+        return getCached(PUBLIC_CONSTRUCTOR_INDEX).get(Arrays.asList(parameterTypes));
+    }
+
+    private Map<List<Class<?>>, ConstructorInfo> doGetPublicConstructorIndex() {
+        final Map<List<Class<?>>, ConstructorInfo> index = new HashMap<List<Class<?>>, ConstructorInfo>();
+        for (ConstructorInfo constructor : getPublicConstructors()) {
+            index.put(constructor.getErasedParameterTypes(), constructor);
+        }
+        return index;
+    }
     
     @Override
     public final List<ConstructorInfo> getDeclaredConstructors() {
-        return Collections.unmodifiableList(declaredConstructors.get());
+        return Collections.unmodifiableList(getCached(DECLARED_CONSTRUCTORS));
     }
 
     protected abstract List<ConstructorInfo> doGetDeclaredConstructors();
 
     @Override
     public final List<MethodInfo> getPublicMethods() {
-        return Collections.unmodifiableList(publicMethods.get());
+        return Collections.unmodifiableList(getCached(PUBLIC_METHODS));
     }
 
     protected abstract List<MethodInfo> doGetPublicMethods();
 
+    @Override
+    public final MethodInfo getPublicMethod(final String name, final Class<?>... parameterTypes) {
+        final Map<List<Class<?>>, MethodInfo> overloads = getCached(PUBLIC_METHOD_INDEX).get(name);
+        return (overloads == null) ? null : overloads.get(Arrays.asList(parameterTypes));
+    }
+
+    private Map<String, Map<List<Class<?>>, MethodInfo>> doGetPublicMethodIndex() {
+        final Map<String, Map<List<Class<?>>, MethodInfo>> index = new HashMap<String, Map<List<Class<?>>, MethodInfo>>();
+        for (MethodInfo method : getPublicMethods()) {
+            index.computeIfAbsent(method.getName(), i -> new HashMap<List<Class<?>>, MethodInfo>())
+                    .putIfAbsent(method.getErasedParameterTypes(), method);
+        }
+        return index;
+    }
+
+    @Override
+    public final MethodInfo findBestMethod(final String name, final TypeInfo<?>... argumentTypes) {
+        return getCached(METHOD_DISPATCH).get(
+                name, argumentTypes, () -> OverloadResolution.findBestMethod(this, name, argumentTypes)
+        );
+    }
+
     @Override
     public final List<MethodInfo> getDeclaredMethods() {
-        return Collections.unmodifiableList(declaredMethods.get());
+        return Collections.unmodifiableList(getCached(DECLARED_METHODS));
     }
 
     protected abstract List<MethodInfo> doGetDeclaredMethods();
 
+    @Override
+    public final List<MethodInfo> getDeclaredMethodsByName(final String name) {
+        return getCached(DECLARED_METHODS_BY_NAME).getOrDefault(name, Collections.emptyList());
+    }
+
+    private Map<String, List<MethodInfo>> doGetDeclaredMethodsByName() {
+        final Map<String, List<MethodInfo>> index = new HashMap<String, List<MethodInfo>>();
+        for (MethodInfo method : getDeclaredMethods()) {
+            index.computeIfAbsent(method.getName(), i -> new ArrayList<MethodInfo>()).add(method);
+        }
+        index.replaceAll((name, methods) -> Collections.unmodifiableList(methods));
+        return index;
+    }
+
     @Override
     public final boolean isPrimitive() {
-        return isPrimitive.get();
+        return getCached(IS_PRIMITIVE);
     }
 
     protected abstract boolean doGetIsPrimitive();
 
     @Override
     public final boolean isArray() {
-        return isArray.get();
+        return getCached(IS_ARRAY);
     }
 
     protected abstract boolean doGetIsArray();
 
     @Override
     public final TypeInfo<?> getArrayElementType() {
-        return arrayElementType.get();
+        return getCached(ARRAY_ELEMENT_TYPE);
     }
 
     protected abstract TypeInfo<?> doGetArrayElementType();
 
     @Override
     public final boolean isEnum() {
-        return isEnum.get();
+        return getCached(IS_ENUM);
     }
 
     protected abstract boolean doGetIsEnum();
 
     @Override
     public final List<Object> getEnumValues() {
-        return Collections.unmodifiableList(enumValues.get());
+        return Collections.unmodifiableList(getCached(ENUM_VALUES));
     }
 
     protected abstract List<Object> doGetEnumValues();
 
     @Override
     public final boolean isInterface() {
-        return isInterface.get();
+        return getCached(IS_INTERFACE);
     }
 
     protected abstract boolean doGetIsInterface();
 
     @Override
     public final boolean isAnnotation() {
-        return isAnnotation.get();
+        return getCached(IS_ANNOTATION);
     }
 
     protected abstract boolean doGetIsAnnotation();
 
     @Override
     public final boolean isAnonymousClass() {
-        return isAnonymousClass.get();
+        return getCached(IS_ANONYMOUS_CLASS);
     }
 
     protected abstract boolean doGetIsAnonymousClass();
 
     @Override
     public final boolean isMemberClass() {
-        return isMemberClass.get();
+        return getCached(IS_MEMBER_CLASS);
     }
 
     protected abstract boolean doGetIsMemberClass();
 
     @Override
     public final boolean isLocalClass() {
-        return isLocalClass.get();
+        return getCached(IS_LOCAL_CLASS);
     }
 
     protected abstract boolean doGetIsLocalClass();
 
     @Override
     public final boolean isSynthetic() {
-        return isSynthetic.get();
+        return getCached(IS_SYNTHETIC);
     }
 
     protected abstract boolean doGetIsSynthetic();
 
     @Override
     public final boolean isTypeVariable() {
-        return isTypeVariable.get();
+        return getCached(IS_TYPE_VARIABLE);
     }
 
     protected abstract boolean doGetIsTypeVariable();
 
     @Override
     public final String getTypeVariableName() {
-        return typeVariableName.get();
+        return getCached(TYPE_VARIABLE_NAME);
     }
 
     protected abstract String doGetTypeVariableName();
 
     @Override
     public final TypeInfo<?> getTypeVariableValue() {
-        return typeVariableValue.get();
+        return getCached(TYPE_VARIABLE_VALUE);
     }
 
     protected abstract TypeInfo<?> doGetTypeVariableValue();
 
     @Override
     public final boolean isWildcardType() {
-        return isWildcardType.get();
+        return getCached(IS_WILDCARD_TYPE);
     }
 
     protected abstract boolean doGetIsWildcardType();
 
     @Override
     public final List<TypeInfo<?>> getExtendsBounds() {
-        return Collections.unmodifiableList(extendsBounds.get());
+        return Collections.unmodifiableList(getCached(EXTENDS_BOUNDS));
     }
 
     protected abstract List<TypeInfo<?>> doGetExtendsBounds();
 
     @Override
     public final List<TypeInfo<?>> getSuperBounds() {
-        return Collections.unmodifiableList(superBounds.get());
+        return Collections.unmodifiableList(getCached(SUPER_BOUNDS));
     }
 
     protected abstract List<TypeInfo<?>> doGetSuperBounds();
@@ -335,7 +621,7 @@ public abstract class AbstractTypeInfo<T extends Type> extends AbstractElementIn
 
     @Override
     public final List<TypeVariableInfo> getTypeVariables() {
-        return Collections.unmodifiableList(typeVariables.get());
+        return Collections.unmodifiableList(getCached(TYPE_VARIABLES));
     }
 
     protected abstract List<TypeVariableInfo> doGetTypeVariables();
@@ -347,38 +633,132 @@ public abstract class AbstractTypeInfo<T extends Type> extends AbstractElementIn
 
     @Override
     public final List<TypeVariableInfo> getDeclaredTypeVariables() {
-        return Collections.unmodifiableList(declaredTypeVariables.get());
+        return Collections.unmodifiableList(getCached(DECLARED_TYPE_VARIABLES));
     }
 
     protected abstract List<TypeVariableInfo> doGetDeclaredTypeVariables();
 
+    /**
+     * Gets the binding environment made of the type variables of this type,
+     * e.g. for substituting them into supertypes and members
+     * 
+     * @return The binding environment
+     */
+    final TypeBindings getTypeBindings() {
+        return getCached(TYPE_BINDINGS);
+    }
+
+    /**
+     * Gets the keys of the type variables whose bindings may change this type
+     * under substitution; see TypeBindings.affects()
+     * 
+     * @return The substitution keys
+     */
+    final Set<Object> getSubstitutionKeys() {
+        return getCached(SUBSTITUTION_KEYS);
+    }
+
+    Set<Object> doGetSubstitutionKeys() {
+        return Collections.singleton(TypeBindings.ALWAYS_SUBSTITUTED);
+    }
+
+    /**
+     * Collects the substitution keys of the type variables of this type and
+     * of their values
+     * 
+     * @return The substitution keys
+     */
+    final Set<Object> getTypeVariableSubstitutionKeys() {
+        final Set<Object> result = new HashSet<Object>();
+        for (TypeVariableInfo typeVariable : getTypeVariables()) {
+            result.add(typeVariable.getKey());
+            if (typeVariable.getTypeVariableValue() != null) {
+                result.addAll(TypeBindings.getSubstitutionKeys(typeVariable.getTypeVariableValue()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Substitutes the specified bindings into this type. Returns this object
+     * without further work if none of the bindings can change it; otherwise
+     * the result is memoized in the binding environment.
+     * 
+     * @param bindings
+     *            The binding environment
+     * @return The substitution result
+     */
+    TypeInfo<?> substitute(final TypeBindings bindings) {
+        if (!bindings.affects(getSubstitutionKeys())) {
+            return this;
+        }
+        return bindings.substitute(this, i -> doSubstitute(bindings));
+    }
+
+    TypeInfo<?> doSubstitute(final TypeBindings bindings) {
+        return substituteTypeVariableValues(bindings.getTypeVariables());
+    }
+
     @Override
     public final String toString() {
-        return defaultStringRepresentation.get();
+        return getCached(DEFAULT_STRING_REPRESENTATION);
     }
 
     protected String doGetDefaultStringRepresentation() {
-        return toString(new ToStringContext() {
-            private final Set<String> definedTypeVariables = new HashSet<String>();
-
-            @Override
-            public boolean isImported(final String canonicalClassName) {
-                return false;
-            }
-
-            @Override
-            public boolean isTypeVariableDefined(final String typeVariableName) {
-                if (definedTypeVariables.contains(typeVariableName)) {
-                    return true;
-                }
-                return false;
-            }
+        return toString(new DefaultToStringContext(), true);
+    }
+
+    /**
+     * Gets the TypeInfo objects substituted into the underlying type. Together
+     * with the class of this object and the underlying type, they identify this
+     * object for interning.
+     * 
+     * @return The substitutes; elements may be null or lists of TypeInfo
+     */
+    Object[] getSubstitutes() {
+        return new Object[0];
+    }
+
+    /**
+     * Computes the hash code up front; called by each constructor once all
+     * substitutes are assigned
+     */
+    final void precomputeHashCode() {
+        hashCode();
+    }
+
+    /**
+     * Gets the hash code of this type, consistent with equals(). It is
+     * computed from the TypeInfo class, the underlying
+     * java.lang.reflect.Type object and the hash codes of the substitutes,
+     * which are themselves precomputed, so this is cheap even for deeply
+     * nested types.
+     */
+    @Override
+    public final int hashCode() {
+        int result = hash;
+        if (result == 0) {
+            result = (getClass().hashCode() * 31 + getType().hashCode()) * 31 + Arrays.hashCode(getSubstitutes());
+            hash = result;
+        }
+        return result;
+    }
 
-            @Override
-            public void defineTypeVariable(final String typeVariableName) {
-                definedTypeVariables.add(typeVariableName);
-            }
-        }, true);
+    /**
+     * Checks if the specified object is structurally equal to this type, i.e.
+     * is of the same TypeInfo class, wraps an equal java.lang.reflect.Type
+     * object and has equal type variable substitutes
+     */
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass() || hashCode() != obj.hashCode()) {
+            return false;
+        }
+        final AbstractTypeInfo<?> other = (AbstractTypeInfo<?>) obj;
+        return getType().equals(other.getType()) && Arrays.equals(getSubstitutes(), other.getSubstitutes());
     }
 
     protected String renderSuperAndExtendsBounds(final ToStringContext context, final boolean includeTypeVariables) {
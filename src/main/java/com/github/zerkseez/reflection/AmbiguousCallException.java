@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+/**
+ * Thrown when no applicable method of a call is more specific than all others
+ *
+ * @author xerxes
+ */
+final class AmbiguousCallException extends ReflectionException {
+    private static final long serialVersionUID = 2254837560170415983L;
+
+    AmbiguousCallException(final String message) {
+        super(message);
+    }
+}
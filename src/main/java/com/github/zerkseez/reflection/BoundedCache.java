@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache holding at most a fixed number of entries. Reads do not lock, and
+ * concurrent misses on a key share a single load. A new entry first enters a
+ * small window of recently loaded entries, so a value requested again shortly
+ * after it was loaded is not rebuilt. An entry leaving the window is admitted
+ * to the main area only if it has been requested more often than the oldest
+ * resident entry, which is then evicted; otherwise the entry is dropped.
+ * Request frequencies are estimated by a small count-min sketch that is
+ * periodically halved, so entries that were popular long ago age out. A
+ * one-off scan over many keys therefore cannot flush the entries that are in
+ * regular use.
+ *
+ * @author xerxes
+ *
+ * @param <K>
+ *            The key type
+ * @param <V>
+ *            The value type
+ */
+final class BoundedCache<K, V> {
+    private final int windowSize;
+    private final int mainSize;
+    private final ConcurrentMap<K, V> values = new ConcurrentHashMap<K, V>();
+    private final ConcurrentMap<K, CompletableFuture<V>> loads = new ConcurrentHashMap<K, CompletableFuture<V>>();
+    private final LinkedHashSet<K> window = new LinkedHashSet<K>();
+    private final LinkedHashSet<K> residents = new LinkedHashSet<K>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+
+    BoundedCache(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid maximum size %d", maximumSize));
+        }
+        this.windowSize = Math.max(1, maximumSize / 100);
+        this.mainSize = maximumSize - windowSize;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    /**
+     * Gets the cached value for the specified key, creating it if needed
+     *
+     * @param key
+     *            The key
+     * @param loader
+     *            Creates the value if it is not cached; called without holding
+     *            any lock, and once for concurrent requests of the same key
+     * @return The cached value, or the newly created one
+     */
+    V get(final K key, final Function<? super K, ? extends V> loader) {
+        sketch.increment(key);
+        final V value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+
+        final CompletableFuture<V> load = new CompletableFuture<V>();
+        final CompletableFuture<V> pending = loads.putIfAbsent(key, load);
+        if (pending != null) {
+            return join(pending);
+        }
+        try {
+            // Another load of the key may have completed since the first check
+            final V existing = values.get(key);
+            final V result = (existing != null) ? existing : admit(key, loader.apply(key));
+            load.complete(result);
+            return result;
+        }
+        catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        }
+        finally {
+            loads.remove(key, load);
+        }
+    }
+
+    private V admit(final K key, final V value) {
+        lock.lock();
+        try {
+            values.put(key, value);
+            window.add(key);
+            if (window.size() > windowSize) {
+                final K candidate = pollFirst(window);
+                if (residents.size() < mainSize) {
+                    residents.add(candidate);
+                }
+                else if (mainSize > 0 && sketch.frequency(candidate) > sketch.frequency(residents.iterator().next())) {
+                    values.remove(pollFirst(residents));
+                    residents.add(candidate);
+                }
+                else {
+                    values.remove(candidate);
+                    if (mainSize > 0) {
+                        // Compare the next candidate with another resident
+                        residents.add(pollFirst(residents));
+                    }
+                }
+            }
+            return value;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private static <K> K pollFirst(final LinkedHashSet<K> keys) {
+        final Iterator<K> iterator = keys.iterator();
+        final K result = iterator.next();
+        iterator.remove();
+        return result;
+    }
+
+    private static <V> V join(final CompletableFuture<V> load) {
+        try {
+            return load.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches the specified predicate. The
+     * predicate is called without holding any lock.
+     *
+     * @param predicate
+     *            Returns true for values that should be removed
+     */
+    void removeIf(final Predicate<? super V> predicate) {
+        final List<Map.Entry<K, V>> removed = new ArrayList<Map.Entry<K, V>>();
+        for (Map.Entry<K, V> entry : values.entrySet()) {
+            if (predicate.test(entry.getValue())) {
+                removed.add(entry);
+            }
+        }
+        lock.lock();
+        try {
+            for (Map.Entry<K, V> entry : removed) {
+                if (values.remove(entry.getKey(), entry.getValue()) && !window.remove(entry.getKey())) {
+                    residents.remove(entry.getKey());
+                }
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * Count-min sketch with four rows of counters saturating at 15. Increments may race;
+     * a lost update only makes an estimate slightly lower.
+     */
+    private static final class FrequencySketch {
+        private static final int[] SEEDS = { 0x97cb3127, 0xb0ab3f0f, 0x3ae4a6d1, 0x8a72b2a5 };
+
+        private final byte[] counters;
+        private final int width;
+        private final int sampleSize;
+        private int additions = 0;
+
+        FrequencySketch(final int maximumSize) {
+            int width = 64;
+            while (width < maximumSize * 2L && width < (1 << 24)) {
+                width <<= 1;
+            }
+            this.width = width;
+            this.counters = new byte[width * SEEDS.length];
+            this.sampleSize = Math.max(maximumSize, 16) * 10;
+        }
+
+        void increment(final Object key) {
+            final int hash = key.hashCode();
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                final int index = indexOf(hash, i);
+                if (counters[index] < 15) {
+                    counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                age();
+            }
+        }
+
+        int frequency(final Object key) {
+            final int hash = key.hashCode();
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < SEEDS.length; i++) {
+                frequency = Math.min(frequency, counters[indexOf(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int indexOf(final int hash, final int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 16;
+            return row * width + (h & (width - 1));
+        }
+
+        private void age() {
+            additions = 0;
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] >>= 1;
+            }
+        }
+    }
+}
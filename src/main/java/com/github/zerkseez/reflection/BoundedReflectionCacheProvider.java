@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache provider for batch processes, such as classpath scanners, that touch
+ * many classes only once. ClassInfo objects and interned types share a single
+ * BoundedCache, which admits entries by access frequency so that one-off
+ * lookups cannot flush the types in regular use. Evicted entries are rebuilt
+ * on their next lookup, so equal types are not guaranteed to be the same
+ * instance.
+ *
+ * @author xerxes
+ */
+public final class BoundedReflectionCacheProvider implements ReflectionCacheProvider {
+    public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final BoundedCache<Object, TypeInfo<?>> cache;
+
+    /**
+     * Creates a provider holding at most {@value #MAXIMUM_SIZE_PROPERTY} types,
+     * or {@value #DEFAULT_MAXIMUM_SIZE} if that property is not set
+     */
+    public BoundedReflectionCacheProvider() {
+        this(Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+    }
+
+    /**
+     * Creates a provider holding at most the specified number of types
+     * 
+     * @param maximumSize
+     *            The maximum number of cached types
+     */
+    public BoundedReflectionCacheProvider(final int maximumSize) {
+        this.cache = new BoundedCache<Object, TypeInfo<?>>(maximumSize);
+    }
+
+    @Override
+    public ClassInfo getClassInfo(final Class<?> type, final Function<Class<?>, ClassInfo> factory) {
+        return (ClassInfo) cache.get(type, i -> factory.apply(type));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends TypeInfo<?>> T intern(final T candidate) {
+        return (T) cache.get(candidate, i -> candidate);
+    }
+
+    @Override
+    public void invalidate(final Predicate<? super TypeInfo<?>> predicate) {
+        cache.removeIf(i -> {
+            if (!predicate.test(i)) {
+                return false;
+            }
+            if (i instanceof ClassInfo) {
+                ClassInfo.unregister(((ClassInfo) i).getType());
+            }
+            return true;
+        });
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
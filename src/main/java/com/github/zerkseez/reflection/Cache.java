@@ -15,28 +15,90 @@
  *******************************************************************************/
 package com.github.zerkseez.reflection;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Supplier;
 
+/**
+ * Lazily computed value. No lock is held while computing, so a slow property
+ * never blocks readers of unrelated properties. Threads racing on the first
+ * get() may each run the supplier, but only the first result is published and
+ * every caller sees that one.
+ * 
+ * @author xerxes
+ *
+ * @param <T>
+ *            The value type
+ */
 public class Cache<T> {
-    private final Object lock;
+    private static final Object NULL = new Object();
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Cache, Object> VALUE =
+            AtomicReferenceFieldUpdater.newUpdater(Cache.class, Object.class, "value");
+
     private final Supplier<T> supplier;
-    private volatile boolean cached = false;
-    private T value = null;
+    private final CacheStatistics statistics;
+    private volatile Object value = null;
 
-    public Cache(final Object lock, final Supplier<T> supplier) {
-        this.lock = lock;
+    /**
+     * Creates a cache for a property of the specified owner
+     * 
+     * @param owner
+     *            The object owning the property; its class is the kind under
+     *            which statistics are recorded
+     * @param name
+     *            The property name
+     * @param supplier
+     *            Computes the value
+     */
+    public Cache(final Object owner, final String name, final Supplier<T> supplier) {
         this.supplier = supplier;
+        this.statistics = CacheStatistics.ENABLED ? CacheStatistics.of(owner.getClass(), name) : null;
+    }
+
+    /**
+     * Creates a cache; the lock is no longer used
+     * 
+     * @param lock
+     *            The object that used to guard the computation; now only the
+     *            owner under which statistics are recorded
+     * @param supplier
+     *            Computes the value
+     * @deprecated Use {@link #Cache(Object, String, Supplier)}, which names
+     *             the property in the cache statistics
+     */
+    @Deprecated
+    public Cache(final Object lock, final Supplier<T> supplier) {
+        this(lock, "value", supplier);
     }
 
+    @SuppressWarnings("unchecked")
     public T get() {
-        if (!cached) {
-            synchronized (lock) {
-                if (!cached) {
-                    value = supplier.get();
-                    cached = true;
-                }
+        Object result = value;
+        if (result == null) {
+            final long start = CacheStatistics.ENABLED ? System.nanoTime() : 0L;
+            final T computed = supplier.get();
+            if (CacheStatistics.ENABLED) {
+                statistics.recordMiss(System.nanoTime() - start);
+            }
+            result = (computed == null) ? NULL : computed;
+            if (!VALUE.compareAndSet(this, null, result)) {
+                result = value;
             }
         }
-        return value;
+        else if (CacheStatistics.ENABLED) {
+            statistics.recordHit();
+        }
+        return (result == NULL) ? null : (T) result;
+    }
+
+    /**
+     * Gets the value if it has been computed, without computing it
+     * 
+     * @return The value, or null if it has not been computed
+     */
+    @SuppressWarnings("unchecked")
+    T peek() {
+        final Object result = value;
+        return (result == NULL) ? null : (T) result;
     }
-}
\ No newline at end of file
+}
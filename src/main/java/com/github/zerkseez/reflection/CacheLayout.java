@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Describes the lazily computed properties of a class of objects. Each
+ * property is a CacheSlot shared by all instances, and each instance keeps its
+ * values in a single array that is allocated on first use.
+ * 
+ * @author xerxes
+ *
+ * @param <O>
+ *            The owner type
+ */
+final class CacheLayout<O> {
+    private int size = 0;
+
+    /**
+     * Adds a slot to this layout; must only be called during class
+     * initialization of the owner type
+     * 
+     * @param <T>
+     *            The property type
+     * @param name
+     *            The property name
+     * @param supplier
+     *            Computes the property value for an owner
+     * @return The slot
+     */
+    <T> CacheSlot<O, T> slot(final String name, final Function<? super O, ? extends T> supplier) {
+        return new CacheSlot<O, T>(size++, name, supplier);
+    }
+
+    AtomicReferenceArray<Object> newValues() {
+        return new AtomicReferenceArray<Object>(size);
+    }
+}
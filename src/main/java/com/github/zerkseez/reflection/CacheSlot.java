@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * A lazily computed property within a CacheLayout. As with Cache, the value is
+ * computed without holding a lock and the first published result wins.
+ * 
+ * @author xerxes
+ *
+ * @param <O>
+ *            The owner type
+ * @param <T>
+ *            The property type
+ */
+final class CacheSlot<O, T> {
+    private static final Object NULL = new Object();
+
+    private final int index;
+    private final String name;
+    private final Function<? super O, ? extends T> supplier;
+    private final ClassValue<CacheStatistics> statistics;
+
+    CacheSlot(final int index, final String name, final Function<? super O, ? extends T> supplier) {
+        this.index = index;
+        this.name = name;
+        this.supplier = supplier;
+        this.statistics = CacheStatistics.forProperty(name);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the value of this property for an owner without computing it
+     * 
+     * @param values
+     *            The values of the owner
+     * @return The value; null if it has not been computed or is null
+     */
+    @SuppressWarnings("unchecked")
+    T peek(final AtomicReferenceArray<Object> values) {
+        final Object value = values.get(index);
+        return (value == NULL) ? null : (T) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(final O owner, final AtomicReferenceArray<Object> values) {
+        Object value = values.get(index);
+        if (value == null) {
+            final long start = CacheStatistics.ENABLED ? System.nanoTime() : 0L;
+            final T computed = supplier.apply(owner);
+            if (CacheStatistics.ENABLED) {
+                statistics.get(owner.getClass()).recordMiss(System.nanoTime() - start);
+            }
+            value = (computed == null) ? NULL : computed;
+            if (!values.compareAndSet(index, null, value)) {
+                value = values.get(index);
+            }
+        }
+        else if (CacheStatistics.ENABLED) {
+            statistics.get(owner.getClass()).recordHit();
+        }
+        return (value == NULL) ? null : (T) value;
+    }
+}
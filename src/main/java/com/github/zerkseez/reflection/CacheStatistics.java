@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss and compute-time statistics of one lazily computed property,
+ * aggregated over all elements of one kind (e.g. "publicMethods" of
+ * ParameterizedTypeInfo). Statistics are only recorded when the
+ * {@value #ENABLED_PROPERTY} system property is set to true at startup;
+ * otherwise the checks are constant-folded away.
+ *
+ * @author xerxes
+ */
+public final class CacheStatistics {
+    public static final String ENABLED_PROPERTY = "com.github.zerkseez.reflection.cache.statistics";
+
+    static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final ConcurrentMap<String, CacheStatistics> STATISTICS =
+            new ConcurrentHashMap<String, CacheStatistics>();
+
+    /**
+     * Checks if statistics are being recorded
+     *
+     * @return true if statistics are being recorded; false otherwise
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Gets the statistics of all properties computed so far
+     *
+     * @return The statistics, most expensive property first
+     */
+    public static List<CacheStatistics> getAll() {
+        final List<CacheStatistics> result = new ArrayList<CacheStatistics>(STATISTICS.values());
+        result.sort((a, b) -> Long.compare(b.getTotalComputeNanos(), a.getTotalComputeNanos()));
+        return result;
+    }
+
+    /**
+     * Resets all statistics to zero
+     */
+    public static void reset() {
+        for (CacheStatistics statistics : STATISTICS.values()) {
+            statistics.hits.reset();
+            statistics.misses.reset();
+            statistics.computeNanos.reset();
+            statistics.maxComputeNanos.set(0);
+        }
+    }
+
+    static CacheStatistics of(final Class<?> kind, final String property) {
+        // Simple names are not unique, e.g. nested classes of different outers
+        final String kindName = kind.getName();
+        return STATISTICS.computeIfAbsent(
+                String.format("%s.%s", kindName, property),
+                i -> new CacheStatistics(kindName, property)
+        );
+    }
+
+    static ClassValue<CacheStatistics> forProperty(final String property) {
+        if (!ENABLED) {
+            return null;
+        }
+        return new ClassValue<CacheStatistics>() {
+            @Override
+            protected CacheStatistics computeValue(final Class<?> kind) {
+                return of(kind, property);
+            }
+        };
+    }
+
+    private final String kind;
+    private final String property;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder computeNanos = new LongAdder();
+    private final AtomicLong maxComputeNanos = new AtomicLong();
+
+    private CacheStatistics(final String kind, final String property) {
+        this.kind = kind;
+        this.property = property;
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss(final long nanos) {
+        misses.increment();
+        computeNanos.add(nanos);
+        maxComputeNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the element kind, i.e. the class name of the elements, e.g.
+     * "com.github.zerkseez.reflection.ClassInfo"
+     *
+     * @return The element kind
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the property name, e.g. "publicMethods"
+     *
+     * @return The property name
+     */
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * Gets the number of reads served from the cache
+     *
+     * @return The number of reads served from the cache
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of reads that computed the value
+     *
+     * @return The number of reads that computed the value
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets the total time spent computing values, including properties of
+     * other elements computed along the way
+     *
+     * @return The total compute time in nanoseconds
+     */
+    public long getTotalComputeNanos() {
+        return computeNanos.sum();
+    }
+
+    /**
+     * Gets the longest time spent computing a single value
+     *
+     * @return The maximum compute time in nanoseconds
+     */
+    public long getMaxComputeNanos() {
+        return maxComputeNanos.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%s.%s: hits=%d, misses=%d, totalComputeNanos=%d, maxComputeNanos=%d",
+                getKind(), getProperty(), getHitCount(), getMissCount(), getTotalComputeNanos(),
+                getMaxComputeNanos()
+        );
+    }
+}
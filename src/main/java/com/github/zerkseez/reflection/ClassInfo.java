@@ -18,24 +18,138 @@ package com.github.zerkseez.reflection;
 import java.lang.reflect.AnnotatedElement;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Hashtable;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class ClassInfo extends AbstractClassInfo<Class<?>> {
-    private static final Map<Class<?>, ClassInfo> CACHE = new Hashtable<Class<?>, ClassInfo>();
+    /**
+     * One ClassInfo per Class. Lookups do not lock, and when threads race on
+     * the first lookup of a class, ClassValue publishes a single winner to all
+     * of them. The value is stored on the Class itself, so it lives exactly as
+     * long as the Class and its defining class loader.
+     */
+    private static final ClassValue<ClassInfo> CACHE = new ClassValue<ClassInfo>() {
+        @Override
+        protected ClassInfo computeValue(final Class<?> type) {
+            return create(type);
+        }
+    };
+
+    /**
+     * Registered classes partitioned by defining class loader. Loaders and
+     * classes are both weakly referenced, so dropping a loader releases its
+     * partition along with the ClassInfo objects of its classes.
+     */
+    private static final Map<ClassLoader, Set<Class<?>>> PARTITIONS = new WeakHashMap<ClassLoader, Set<Class<?>>>();
+
+    /**
+     * Ids of classes, looked up in the sorted supertype ids of the subtype
+     * check. Ids are assigned when a class is registered or first named as a
+     * supertype, and are never reused; like CACHE, they are stored on the
+     * Class itself. Since they are only compared, never used as indexes, ids
+     * that keep growing across redeployments cost nothing.
+     */
+    private static final AtomicInteger NEXT_CLASS_ID = new AtomicInteger();
+    private static final ClassValue<Integer> CLASS_IDS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return NEXT_CLASS_ID.getAndIncrement();
+        }
+    };
+
+    private static ClassInfo create(final Class<?> type) {
+        register(type);
+        return new ClassInfo(type);
+    }
+
+    /**
+     * Gets the dense id of the specified class
+     * 
+     * @param type
+     *            The class
+     * @return The id of the class
+     */
+    static int getClassId(final Class<?> type) {
+        return CLASS_IDS.get(type);
+    }
+
+    private static void register(final Class<?> type) {
+        getClassId(type);
+        synchronized (PARTITIONS) {
+            PARTITIONS.computeIfAbsent(
+                    type.getClassLoader(),
+                    i -> Collections.newSetFromMap(new WeakHashMap<Class<?>, Boolean>())
+            ).add(type);
+        }
+    }
+
+    /**
+     * Gets the classes whose ClassInfo has been registered for the specified
+     * class loader
+     * 
+     * @param classLoader
+     *            The defining class loader; null for the bootstrap loader
+     * @return A snapshot of the registered classes
+     */
+    static Set<Class<?>> getRegisteredClasses(final ClassLoader classLoader) {
+        synchronized (PARTITIONS) {
+            final Set<Class<?>> partition = PARTITIONS.get(classLoader);
+            return (partition == null) ? Collections.emptySet() : new HashSet<Class<?>>(partition);
+        }
+    }
+
+    /**
+     * Gets all classes whose ClassInfo has been registered
+     * 
+     * @return A snapshot of the registered classes
+     */
+    static Set<Class<?>> getRegisteredClasses() {
+        synchronized (PARTITIONS) {
+            final Set<Class<?>> result = new HashSet<Class<?>>();
+            PARTITIONS.values().forEach(result::addAll);
+            return result;
+        }
+    }
+
+    /**
+     * Removes the ClassInfo object of the specified class from the registry;
+     * the next lookup creates a new one
+     * 
+     * @param type
+     *            The class
+     */
+    static void unregister(final Class<?> type) {
+        synchronized (PARTITIONS) {
+            final Set<Class<?>> partition = PARTITIONS.get(type.getClassLoader());
+            if (partition != null) {
+                partition.remove(type);
+            }
+        }
+        CACHE.remove(type);
+    }
+
+    /**
+     * Gets the ClassInfo object stored on the specified class, for cache
+     * providers that keep ClassInfo objects as long as their classes
+     * 
+     * @param type
+     *            The class
+     * @return The ClassInfo object
+     */
+    static ClassInfo getRegistered(final Class<?> type) {
+        return CACHE.get(type);
+    }
 
     public static ClassInfo of(final Class<?> type) {
         if (type == null) {
             return null;
         }
-        ClassInfo classInfo = CACHE.get(type);
-        if (classInfo == null) {
-            classInfo = new ClassInfo(type);
-            CACHE.put(type, classInfo);
-        }
-        return classInfo;
+        return TypeInterner.getClassInfo(type, ClassInfo::create);
     }
 
     private final List<TypeVariableInfo> typeVariableSubstitutes;
@@ -47,6 +161,7 @@ public class ClassInfo extends AbstractClassInfo<Class<?>> {
     protected ClassInfo(final Class<?> type, final List<TypeVariableInfo> typeVariableSubstitutes) {
         super(type);
         this.typeVariableSubstitutes = typeVariableSubstitutes;
+        precomputeHashCode();
     }
 
     @Override
@@ -99,21 +214,21 @@ public class ClassInfo extends AbstractClassInfo<Class<?>> {
     @Override
     protected List<FieldInfo> doGetDeclaredFields() {
         return Arrays.stream(getType().getDeclaredFields())
-                .map(i -> new FieldInfo(this, i))
+                .map(i -> getMemberInfo(i))
                 .collect(Collectors.toList());
     }
     
     @Override
     protected List<ConstructorInfo> doGetPublicConstructors() {
         return Arrays.stream(getType().getConstructors())
-                .map(i -> new ConstructorInfo(this, i))
+                .map(i -> getMemberInfo(i))
                 .collect(Collectors.toList());
     }
     
     @Override
     protected List<ConstructorInfo> doGetDeclaredConstructors() {
         return Arrays.stream(getType().getDeclaredConstructors())
-                .map(i -> new ConstructorInfo(this, i))
+                .map(i -> getMemberInfo(i))
                 .collect(Collectors.toList());
     }
 
@@ -121,7 +236,7 @@ public class ClassInfo extends AbstractClassInfo<Class<?>> {
     protected List<MethodInfo> doGetDeclaredMethods() {
         return Arrays.stream(getType().getDeclaredMethods())
                 .filter(i -> !i.isBridge())
-                .map(i -> new MethodInfo(this, i))
+                .map(i -> getMemberInfo(i))
                 .collect(Collectors.toList());
     }
 
@@ -222,19 +337,31 @@ public class ClassInfo extends AbstractClassInfo<Class<?>> {
         }
         
         return Arrays.stream(getType().getTypeParameters())
-                .map(i -> new TypeVariableInfo(i))
+                .map(i -> TypeVariableInfo.of(i))
                 .collect(Collectors.toList());
     }
 
     @Override
     public TypeInfo<?> substituteTypeVariableValues(final List<TypeVariableInfo> typeVariables) {
-        if (hasTypeVariables()) {
-            final List<TypeVariableInfo> substitutionResults = getTypeVariables().stream()
-                    .map(i -> i.withValue(i.substituteTypeVariableValues(typeVariables)))
-                    .collect(Collectors.toList());
-            return new ClassInfo(this.getType(), substitutionResults);
-        }
-        return this;
+        return substitute(TypeBindings.unmemoized(typeVariables));
+    }
+
+    @Override
+    TypeInfo<?> doSubstitute(final TypeBindings bindings) {
+        final List<TypeVariableInfo> substitutionResults = getTypeVariables().stream()
+                .map(i -> i.withValue(bindings.apply(i)))
+                .collect(Collectors.toList());
+        return TypeInterner.intern(new ClassInfo(this.getType(), substitutionResults));
+    }
+
+    @Override
+    Set<Object> doGetSubstitutionKeys() {
+        return getTypeVariableSubstitutionKeys();
+    }
+
+    @Override
+    Object[] getSubstitutes() {
+        return new Object[] { typeVariableSubstitutes };
     }
 
     @Override
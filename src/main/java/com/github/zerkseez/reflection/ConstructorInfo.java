@@ -24,6 +24,10 @@ public class ConstructorInfo extends AbstractExecutableInfo<Constructor<?>> {
         super(declaringElement, constructor);
     }
 
+    ConstructorInfo(final TypeInfo<?> declaringElement, final ConstructorInfo skeleton) {
+        super(declaringElement, skeleton);
+    }
+
     @Override
     protected String doGetId() {
         return String.format("%s|Constructor", getDeclaringElement().getId());
@@ -63,13 +67,13 @@ public class ConstructorInfo extends AbstractExecutableInfo<Constructor<?>> {
         for (TypeVariableInfo typeVariable : getTypeVariables()) {
             boolean isDirectlyDeclared = false;
             for (TypeVariableInfo declaredTypeVariable : getDeclaredTypeVariables()) {
-                if (typeVariable.getId().equals(declaredTypeVariable.getId())) {
+                if (typeVariable.isSameTypeVariable(declaredTypeVariable)) {
                     isDirectlyDeclared = true;
                     break;
                 }
             }
             if (!isDirectlyDeclared) {
-                context.defineTypeVariable(typeVariable.getId());
+                context.defineTypeVariable(typeVariable);
             }
         }
 
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Results of TypeInfo.findBestMethod() for one receiver type, keyed by method
+ * name and argument types. The argument types form a path in a tree of
+ * WeakTypeMap objects, so a cached call site does not keep the class loaders
+ * of its argument types alive.
+ *
+ * @author xerxes
+ */
+final class DispatchCache {
+    private static final Object NOT_FOUND = new Object();
+
+    private final ConcurrentMap<String, Node> roots = new ConcurrentHashMap<String, Node>();
+
+    /**
+     * Gets the cached method for the specified call, resolving it if needed
+     * 
+     * @param name
+     *            The method name
+     * @param argumentTypes
+     *            The argument types; null elements stand for null arguments
+     * @param resolver
+     *            Resolves the method if it is not cached
+     * @return The method; null if no method is applicable
+     * @throws AmbiguousCallException
+     *             If the call is ambiguous; ambiguity is cached as well, other
+     *             errors of the resolver are not
+     */
+    MethodInfo get(final String name, final TypeInfo<?>[] argumentTypes, final Supplier<MethodInfo> resolver) {
+        Node node = roots.computeIfAbsent(name, i -> new Node());
+        for (TypeInfo<?> argumentType : argumentTypes) {
+            node = node.getChild(argumentType);
+        }
+        Object result = node.result;
+        if (result == null) {
+            try {
+                final MethodInfo method = resolver.get();
+                result = (method == null) ? NOT_FOUND : method;
+            }
+            catch (AmbiguousCallException e) {
+                result = e.getMessage();
+            }
+            node.result = result;
+        }
+        if (result instanceof String) {
+            throw new AmbiguousCallException((String) result);
+        }
+        return (result == NOT_FOUND) ? null : (MethodInfo) result;
+    }
+
+    private static final class Node {
+        private final WeakTypeMap<Node> children = new WeakTypeMap<Node>();
+        private volatile Node nullChild = null;
+
+        /**
+         * The method, NOT_FOUND, or the message of the ambiguity error; null
+         * until resolved
+         */
+        private volatile Object result = null;
+
+        Node getChild(final TypeInfo<?> argumentType) {
+            if (argumentType == null) {
+                Node child = nullChild;
+                if (child == null) {
+                    child = new Node();
+                    nullChild = child;
+                }
+                return child;
+            }
+            final Node child = children.get(argumentType);
+            return (child != null) ? child : children.putIfAbsent(argumentType, new Node());
+        }
+    }
+}
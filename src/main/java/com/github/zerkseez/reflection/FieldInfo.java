@@ -21,6 +21,7 @@ import java.lang.reflect.Modifier;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class FieldInfo extends AbstractMemberInfo {
     private final Field field;
@@ -29,7 +30,13 @@ public class FieldInfo extends AbstractMemberInfo {
     public FieldInfo(final TypeInfo<?> declaringType, final Field field) {
         super(declaringType);
         this.field = field;
-        this.type = new Cache<TypeInfo<?>>(this, () -> doGetType());
+        this.type = new Cache<TypeInfo<?>>(this, "type", () -> doGetType());
+    }
+
+    FieldInfo(final TypeInfo<?> declaringType, final FieldInfo skeleton) {
+        super(declaringType, skeleton);
+        this.field = skeleton.getField();
+        this.type = new Cache<TypeInfo<?>>(this, "type", () -> doGetType());
     }
 
     @Override
@@ -61,9 +68,18 @@ public class FieldInfo extends AbstractMemberInfo {
     }
     
     protected TypeInfo<?> doGetType() {
+        if (getSkeleton() != null) {
+            return resolveActualType(((FieldInfo) getSkeleton()).getType());
+        }
         return resolveActualType(Reflection.getTypeInfo(getField().getGenericType()));
     }
 
+    @Override
+    void forEachCachedValue(final Consumer<Object> action) {
+        super.forEachCachedValue(action);
+        acceptIfComputed(type, action);
+    }
+
     @Override
     protected String doGetName() {
         return getField().getName();
@@ -19,6 +19,7 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.GenericArrayType;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 public class GenericArrayInfo extends AbstractTypeInfo<GenericArrayType> {
     private final TypeInfo<?> elementTypeSubstitute;
@@ -30,6 +31,7 @@ public class GenericArrayInfo extends AbstractTypeInfo<GenericArrayType> {
     public GenericArrayInfo(final GenericArrayType type, final TypeInfo<?> elementTypeSubstitute) {
         super(type);
         this.elementTypeSubstitute = elementTypeSubstitute;
+        precomputeHashCode();
     }
 
     @Override
@@ -214,7 +216,22 @@ public class GenericArrayInfo extends AbstractTypeInfo<GenericArrayType> {
 
     @Override
     public TypeInfo<?> substituteTypeVariableValues(final List<TypeVariableInfo> typeVariables) {
-        return new GenericArrayInfo(this.getType(), getArrayElementType().substituteTypeVariableValues(typeVariables));
+        return substitute(TypeBindings.unmemoized(typeVariables));
+    }
+
+    @Override
+    TypeInfo<?> doSubstitute(final TypeBindings bindings) {
+        return TypeInterner.intern(new GenericArrayInfo(this.getType(), bindings.apply(getArrayElementType())));
+    }
+
+    @Override
+    Set<Object> doGetSubstitutionKeys() {
+        return TypeBindings.getSubstitutionKeys(getArrayElementType());
+    }
+
+    @Override
+    Object[] getSubstitutes() {
+        return new Object[] { elementTypeSubstitute };
     }
 
     @Override
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.GenericDeclaration;
+import java.lang.reflect.Member;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Decides which cached types are invalidated along with a set of affected
+ * classes. A type whose structure mentions an affected class is removed from
+ * the cache. Any other cached type is kept, but if one of its already
+ * computed values (including the members, parameters and return types
+ * computed so far) mentions an affected class, all of its computed values are
+ * discarded and computed again on their next access.
+ * <p>
+ * One instance is used for a single invalidation run and is not thread-safe.
+ *
+ * @author xerxes
+ */
+final class Invalidation implements Predicate<TypeInfo<?>> {
+    private final Predicate<Class<?>> affected;
+    private final Map<TypeInfo<?>, Boolean> mentions = new IdentityHashMap<TypeInfo<?>, Boolean>();
+
+    Invalidation(final Predicate<Class<?>> affected) {
+        this.affected = affected;
+    }
+
+    @Override
+    public boolean test(final TypeInfo<?> typeInfo) {
+        if (mentionsAffectedClass(typeInfo)) {
+            return true;
+        }
+        final AbstractTypeInfo<?> type = (AbstractTypeInfo<?>) typeInfo;
+        final ClassInfo rawView = type.peekRawView();
+        if (computedValuesMentionAffectedClass(type)
+                || (rawView != null && computedValuesMentionAffectedClass(rawView))) {
+            type.clearCachedValues();
+        }
+        return false;
+    }
+
+    private boolean mentionsAffectedClass(final TypeInfo<?> typeInfo) {
+        final Boolean cached = mentions.get(typeInfo);
+        if (cached != null) {
+            return cached;
+        }
+        mentions.put(typeInfo, Boolean.FALSE);
+        boolean result = mentionsAffectedClass(typeInfo.getType());
+        for (Object substitute : ((AbstractTypeInfo<?>) typeInfo).getSubstitutes()) {
+            result = result || valueMentionsAffectedClass(substitute, false);
+        }
+        mentions.put(typeInfo, result);
+        return result;
+    }
+
+    private boolean mentionsAffectedClass(final Type type) {
+        if (type instanceof Class) {
+            Class<?> c = (Class<?>) type;
+            while (c.isArray()) {
+                c = c.getComponentType();
+            }
+            return affected.test(c);
+        }
+        else if (type instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) type;
+            if (mentionsAffectedClass(parameterizedType.getRawType())
+                    || mentionsAffectedClass(parameterizedType.getOwnerType())) {
+                return true;
+            }
+            for (Type i : parameterizedType.getActualTypeArguments()) {
+                if (mentionsAffectedClass(i)) {
+                    return true;
+                }
+            }
+        }
+        else if (type instanceof GenericArrayType) {
+            return mentionsAffectedClass(((GenericArrayType) type).getGenericComponentType());
+        }
+        else if (type instanceof WildcardType) {
+            final WildcardType wildcardType = (WildcardType) type;
+            for (Type i : wildcardType.getUpperBounds()) {
+                if (mentionsAffectedClass(i)) {
+                    return true;
+                }
+            }
+            for (Type i : wildcardType.getLowerBounds()) {
+                if (mentionsAffectedClass(i)) {
+                    return true;
+                }
+            }
+        }
+        else if (type instanceof TypeVariable) {
+            // Bounds are not followed since they may refer back to the type
+            // variable; they are covered by the declaration's class
+            final GenericDeclaration declaration = ((TypeVariable<?>) type).getGenericDeclaration();
+            if (declaration instanceof Class) {
+                return mentionsAffectedClass((Class<?>) declaration);
+            }
+            else if (declaration instanceof Member) {
+                return mentionsAffectedClass(((Member) declaration).getDeclaringClass());
+            }
+        }
+        return false;
+    }
+
+    private boolean computedValuesMentionAffectedClass(final AbstractElementInfo element) {
+        final boolean[] result = new boolean[1];
+        element.forEachCachedValue(i -> result[0] = result[0] || valueMentionsAffectedClass(i, true));
+        return result[0];
+    }
+
+    /**
+     * @param value
+     *            A computed value or type substitute
+     * @param followMembers
+     *            Whether the computed values of members are inspected as well;
+     *            cached types are not followed since they are tested on their
+     *            own
+     */
+    private boolean valueMentionsAffectedClass(final Object value, final boolean followMembers) {
+        if (value instanceof TypeInfo) {
+            return mentionsAffectedClass((TypeInfo<?>) value);
+        }
+        else if (value instanceof Class) {
+            return mentionsAffectedClass((Class<?>) value);
+        }
+        else if (value instanceof List) {
+            for (Object i : (List<?>) value) {
+                if (valueMentionsAffectedClass(i, followMembers)) {
+                    return true;
+                }
+            }
+        }
+        else if (value instanceof Map) {
+            for (Object i : ((Map<?, ?>) value).values()) {
+                if (valueMentionsAffectedClass(i, followMembers)) {
+                    return true;
+                }
+            }
+        }
+        else if (value instanceof TypeBindings) {
+            return valueMentionsAffectedClass(((TypeBindings) value).getMemoizedResults(), followMembers);
+        }
+        else if (value instanceof ParameterInfo) {
+            return mentionsAffectedClass(((ParameterInfo) value).getType());
+        }
+        else if (followMembers && value instanceof AbstractMemberInfo) {
+            final AbstractMemberInfo member = (AbstractMemberInfo) value;
+            if (member.getAnnotatedElement() instanceof Member
+                    && mentionsAffectedClass(((Member) member.getAnnotatedElement()).getDeclaringClass())) {
+                return true;
+            }
+            return computedValuesMentionAffectedClass(member);
+        }
+        return false;
+    }
+}
@@ -19,13 +19,25 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class MethodInfo extends AbstractExecutableInfo<Method> {
     private final Cache<TypeInfo<?>> returnType;
+    private final Cache<MethodSignatureKey> signatureKey;
+    private final Cache<MethodInvoker> invoker;
     
     public MethodInfo(final TypeInfo<?> declaringElement, final Method method) {
         super(declaringElement, method);
-        this.returnType = new Cache<TypeInfo<?>>(this, () -> doGetReturnType());
+        this.returnType = new Cache<TypeInfo<?>>(this, "returnType", () -> doGetReturnType());
+        this.signatureKey = new Cache<MethodSignatureKey>(this, "signatureKey", () -> MethodSignatureKey.of(this));
+        this.invoker = new Cache<MethodInvoker>(this, "invoker", () -> new MethodInvoker(getExecutable()));
+    }
+
+    MethodInfo(final TypeInfo<?> declaringElement, final MethodInfo skeleton) {
+        super(declaringElement, skeleton);
+        this.returnType = new Cache<TypeInfo<?>>(this, "returnType", () -> doGetReturnType());
+        this.signatureKey = new Cache<MethodSignatureKey>(this, "signatureKey", () -> MethodSignatureKey.of(this));
+        this.invoker = null;
     }
 
     @Override
@@ -43,8 +55,41 @@ public class MethodInfo extends AbstractExecutableInfo<Method> {
     }
     
     protected TypeInfo<?> doGetReturnType() {
+        if (getSkeleton() != null) {
+            return resolveActualType(((MethodInfo) getSkeleton()).getReturnType());
+        }
         return resolveActualType(Reflection.getTypeInfo(getExecutable().getGenericReturnType()));
     }
+
+    /**
+     * Gets an invoker for this method; the method handle behind it is looked
+     * up on first use and shared by all parameterizations of the declaring
+     * class
+     * 
+     * @return The invoker
+     */
+    public final MethodInvoker invoker() {
+        if (getSkeleton() != null) {
+            return ((MethodInfo) getSkeleton()).invoker();
+        }
+        return invoker.get();
+    }
+
+    /**
+     * Gets the name and resolved parameter types of this method as a key for
+     * detecting overrides
+     * 
+     * @return The signature key
+     */
+    MethodSignatureKey getSignatureKey() {
+        return signatureKey.get();
+    }
+
+    @Override
+    void forEachCachedValue(final Consumer<Object> action) {
+        super.forEachCachedValue(action);
+        acceptIfComputed(returnType, action);
+    }
     
     @Override
     protected String doGetName() {
@@ -80,13 +125,13 @@ public class MethodInfo extends AbstractExecutableInfo<Method> {
         for (TypeVariableInfo typeVariable : getTypeVariables()) {
             boolean isDirectlyDeclared = false;
             for (TypeVariableInfo declaredTypeVariable : getDeclaredTypeVariables()) {
-                if (typeVariable.getId().equals(declaredTypeVariable.getId())) {
+                if (typeVariable.isSameTypeVariable(declaredTypeVariable)) {
                     isDirectlyDeclared = true;
                     break;
                 }
             }
             if (!isDirectlyDeclared) {
-                context.defineTypeVariable(typeVariable.getId());
+                context.defineTypeVariable(typeVariable);
             }
         }
 
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Calls a method through a MethodHandle. The handle is looked up once, with
+ * the access check done at that time, so calls skip the per-call access
+ * checks of Method.invoke(). Instance methods, including interface default
+ * methods, are dispatched virtually on the target like Method.invoke() does.
+ *
+ * @author xerxes
+ */
+public final class MethodInvoker {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final MethodHandle methodHandle;
+    private final MethodHandle spreader;
+
+    MethodInvoker(final Method method) {
+        this.methodHandle = unreflect(method);
+        MethodHandle handle = methodHandle.asFixedArity();
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        this.spreader = handle
+                .asType(MethodType.genericMethodType(method.getParameterCount() + 1))
+                .asSpreader(Object[].class, method.getParameterCount());
+    }
+
+    private static MethodHandle unreflect(final Method method) {
+        Method accessible = method;
+        if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            // Work on a copy so that the accessible flag of the shared Method
+            // object is left alone
+            try {
+                accessible = method.getDeclaringClass().getDeclaredMethod(method.getName(), method.getParameterTypes());
+                accessible.setAccessible(true);
+            }
+            catch (NoSuchMethodException | SecurityException e) {
+                throw new ReflectionException(e);
+            }
+        }
+        try {
+            return MethodHandles.lookup().unreflect(accessible);
+        }
+        catch (IllegalAccessException e) {
+            throw new ReflectionException(e);
+        }
+    }
+
+    /**
+     * Gets the underlying method handle. Its type is that of the method, with
+     * the receiver type as the first parameter for instance methods.
+     * 
+     * @return The underlying method handle
+     */
+    public MethodHandle getMethodHandle() {
+        return methodHandle;
+    }
+
+    /**
+     * Invokes the method. Arguments are unboxed and return values boxed as
+     * Method.invoke() does. Exceptions thrown by the method itself are not
+     * wrapped if they are unchecked; checked ones are wrapped in a
+     * ReflectionException.
+     * 
+     * @param target
+     *            The object to invoke the method on; ignored for static
+     *            methods
+     * @param args
+     *            The arguments
+     * @return The return value; null for void methods
+     * @throws NullPointerException
+     *             If the target of an instance method is null, or if null is
+     *             passed for a primitive parameter
+     * @throws ClassCastException
+     *             If the target or an argument is of the wrong type
+     * @throws IllegalArgumentException
+     *             If the number of arguments is wrong
+     */
+    public Object invoke(final Object target, final Object... args) {
+        final Object[] arguments = (args == null) ? NO_ARGUMENTS : args;
+        try {
+            return (Object) spreader.invokeExact(target, arguments);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new ReflectionException(e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Identifies a method by its name and resolved parameter types, the parts of
+ * the signature that decide whether one method overrides another. Parameter
+ * types are compared with TypeInfo.equals(), which is structural and cheap
+ * because type hash codes are precomputed, so the key is never rendered as a
+ * string. Type variables declared by the method itself are compared by their
+ * position instead, since signatures that differ only in the names of their
+ * type parameters are the same (JLS 8.4.2).
+ *
+ * @author xerxes
+ */
+final class MethodSignatureKey {
+    private final String name;
+    private final TypeInfo<?>[] parameterTypes;
+    private final List<Object> typeVariableKeys;
+    private final int hash;
+
+    static MethodSignatureKey of(final MethodInfo method) {
+        final TypeInfo<?>[] parameterTypes = new TypeInfo<?>[method.getParameterCount()];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            parameterTypes[i] = method.getParameterType(i);
+        }
+        final List<Object> typeVariableKeys = method.getDeclaredTypeVariables().stream()
+                .map(i -> i.getKey())
+                .collect(Collectors.toList());
+        return new MethodSignatureKey(method.getName(), parameterTypes, typeVariableKeys);
+    }
+
+    private MethodSignatureKey(final String name, final TypeInfo<?>[] parameterTypes, final List<Object> typeVariableKeys) {
+        this.name = name;
+        this.parameterTypes = parameterTypes;
+        this.typeVariableKeys = typeVariableKeys;
+        int hash = name.hashCode() * 31 + typeVariableKeys.size();
+        for (TypeInfo<?> parameterType : parameterTypes) {
+            hash = hash * 31 + hashOf(parameterType);
+        }
+        this.hash = hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MethodSignatureKey)) {
+            return false;
+        }
+        final MethodSignatureKey other = (MethodSignatureKey) obj;
+        if (hash != other.hash || !name.equals(other.name) || parameterTypes.length != other.parameterTypes.length
+                || typeVariableKeys.size() != other.typeVariableKeys.size()) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isSameType(parameterTypes[i], other, other.parameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the position of the specified type among the type variables
+     * declared by the method
+     * 
+     * @return The position; -1 if the type is not such a type variable
+     */
+    private int getPosition(final TypeInfo<?> type) {
+        if (typeVariableKeys.isEmpty() || !(type instanceof TypeVariableInfo) || type.getTypeVariableValue() != null) {
+            return -1;
+        }
+        return typeVariableKeys.indexOf(((TypeVariableInfo) type).getKey());
+    }
+
+    private int hashOf(final TypeInfo<?> type) {
+        if (typeVariableKeys.isEmpty() || type == null) {
+            return Objects.hashCode(type);
+        }
+        final int position = getPosition(type);
+        if (position >= 0) {
+            return position;
+        }
+        if (type.isTypeVariable()) {
+            return (type.getTypeVariableValue() == null) ? type.hashCode() : hashOf(type.getTypeVariableValue()) * 31 + 1;
+        }
+        if (type.isWildcardType()) {
+            return hashOf(type.getExtendsBounds()) * 31 + hashOf(type.getSuperBounds());
+        }
+        if (type.isArray()) {
+            return hashOf(type.getArrayElementType()) * 31 + 2;
+        }
+        if (type.getType() instanceof ParameterizedType) {
+            return type.getErasedClass().hashCode() * 31 + hashOf(type.getTypeVariables());
+        }
+        return type.hashCode();
+    }
+
+    private int hashOf(final List<? extends TypeInfo<?>> types) {
+        int result = 1;
+        for (TypeInfo<?> type : types) {
+            result = result * 31 + hashOf(type);
+        }
+        return result;
+    }
+
+    /**
+     * Checks if a type of this key is the same as a type of the other key,
+     * matching the type variables declared by the methods by position
+     */
+    private boolean isSameType(final TypeInfo<?> type, final MethodSignatureKey other, final TypeInfo<?> otherType) {
+        if (typeVariableKeys.isEmpty() || type == null || otherType == null) {
+            return Objects.equals(type, otherType);
+        }
+        final int position = getPosition(type);
+        final int otherPosition = other.getPosition(otherType);
+        if (position >= 0 || otherPosition >= 0) {
+            return position == otherPosition;
+        }
+        if (type.equals(otherType)) {
+            return true;
+        }
+        if (type.getClass() != otherType.getClass()) {
+            return false;
+        }
+        if (type.isTypeVariable()) {
+            return type.getTypeVariableValue() != null && otherType.getTypeVariableValue() != null
+                    && isSameType(type.getTypeVariableValue(), other, otherType.getTypeVariableValue());
+        }
+        if (type.isWildcardType()) {
+            return isSameTypes(type.getExtendsBounds(), other, otherType.getExtendsBounds())
+                    && isSameTypes(type.getSuperBounds(), other, otherType.getSuperBounds());
+        }
+        if (type.isArray()) {
+            return isSameType(type.getArrayElementType(), other, otherType.getArrayElementType());
+        }
+        if (type.getType() instanceof ParameterizedType) {
+            return type.getErasedClass() == otherType.getErasedClass()
+                    && isSameTypes(type.getTypeVariables(), other, otherType.getTypeVariables());
+        }
+        return false;
+    }
+
+    private boolean isSameTypes(
+            final List<? extends TypeInfo<?>> types,
+            final MethodSignatureKey other,
+            final List<? extends TypeInfo<?>> otherTypes
+    ) {
+        if (types.size() != otherTypes.size()) {
+            return false;
+        }
+        for (int i = 0; i < types.size(); i++) {
+            if (!isSameType(types.get(i), other, otherTypes.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,386 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses the method invoked for given argument types, following the three
+ * phases of JLS 15.12.2: applicability by subtyping, then with boxing and
+ * unboxing, then as variable arity invocation; and the most specific method
+ * rule of JLS 15.12.2.5 among the applicable methods of a phase.
+ * <p>
+ * Type variables declared by a method are inferred from the argument types.
+ * A type variable constrained by several arguments takes the first of them,
+ * or one of its supertypes, that is a supertype of all of them. This is an
+ * approximation of the least upper bound used by the compiler.
+ *
+ * @author xerxes
+ */
+final class OverloadResolution {
+    private static final Class<?>[][] BOXES = {
+            { boolean.class, Boolean.class },
+            { byte.class, Byte.class },
+            { char.class, Character.class },
+            { short.class, Short.class },
+            { int.class, Integer.class },
+            { long.class, Long.class },
+            { float.class, Float.class },
+            { double.class, Double.class }
+    };
+
+    /**
+     * Finds the most specific public method of the specified type for the
+     * specified argument types
+     * 
+     * @param type
+     *            The receiver type
+     * @param name
+     *            The method name
+     * @param argumentTypes
+     *            The argument types; null elements stand for null arguments
+     * @return The most specific method; null if no method is applicable
+     * @throws AmbiguousCallException
+     *             If no applicable method is more specific than all others
+     */
+    static MethodInfo findBestMethod(final TypeInfo<?> type, final String name, final TypeInfo<?>[] argumentTypes) {
+        final List<MethodInfo> candidates = type.getPublicMethods().stream()
+                .filter(i -> i.getName().equals(name) && !i.getExecutable().isBridge())
+                .collect(Collectors.toList());
+        for (int phase = 1; phase <= 3; phase++) {
+            final List<Candidate> applicable = new ArrayList<Candidate>();
+            for (MethodInfo method : candidates) {
+                final Candidate candidate = getApplicableCandidate(method, argumentTypes, phase);
+                if (candidate != null) {
+                    applicable.add(candidate);
+                }
+            }
+            if (!applicable.isEmpty()) {
+                return getMostSpecific(type, name, argumentTypes, applicable);
+            }
+        }
+        return null;
+    }
+
+    private static Candidate getApplicableCandidate(
+            final MethodInfo method,
+            final TypeInfo<?>[] argumentTypes,
+            final int phase
+    ) {
+        // The arity is checked before any parameter type is resolved
+        final int parameterCount = method.getParameterCount();
+        final boolean variableArity = (phase == 3);
+        if (variableArity) {
+            if (!method.getExecutable().isVarArgs() || argumentTypes.length < parameterCount - 1) {
+                return null;
+            }
+        }
+        else if (argumentTypes.length != parameterCount) {
+            return null;
+        }
+
+        // A variable arity candidate gets one more parameter type than there
+        // are arguments, the k+1'th one compared by JLS 15.12.2.5
+        final int arity = variableArity ? argumentTypes.length + 1 : argumentTypes.length;
+        final List<TypeInfo<?>> declaredParameterTypes = getParameterTypes(method, arity, variableArity);
+        List<TypeInfo<?>> parameterTypes = declaredParameterTypes;
+        if (method.hasDeclaredTypeVariables()) {
+            final TypeBindings bindings = inferTypeVariables(
+                    method.getDeclaredTypeVariables(), parameterTypes, argumentTypes
+            );
+            if (bindings == null) {
+                return null;
+            }
+            if (!bindings.getTypeVariables().isEmpty()) {
+                parameterTypes = parameterTypes.stream()
+                        .map(i -> bindings.apply(i))
+                        .collect(Collectors.toList());
+            }
+        }
+
+        for (int i = 0; i < argumentTypes.length; i++) {
+            if (!isApplicable(parameterTypes.get(i), argumentTypes[i], phase > 1)) {
+                return null;
+            }
+        }
+        return new Candidate(method, argumentTypes.length, declaredParameterTypes);
+    }
+
+    private static List<TypeInfo<?>> getParameterTypes(
+            final MethodInfo method,
+            final int arity,
+            final boolean variableArity
+    ) {
+        final int parameterCount = method.getParameterCount();
+        final List<TypeInfo<?>> result = new ArrayList<TypeInfo<?>>(arity);
+        for (int i = 0; i < arity; i++) {
+            if (variableArity && i >= parameterCount - 1) {
+                result.add(method.getParameterType(parameterCount - 1).getArrayElementType());
+            }
+            else {
+                result.add(method.getParameterType(i));
+            }
+        }
+        return result;
+    }
+
+    private static boolean isApplicable(final TypeInfo<?> parameterType, final TypeInfo<?> argumentType, final boolean boxing) {
+        if (argumentType == null) {
+            return !parameterType.isPrimitive();
+        }
+        if (parameterType.isAssignableFrom(argumentType)) {
+            return true;
+        }
+        if (boxing) {
+            if (parameterType.isPrimitive() && !argumentType.isPrimitive()) {
+                final TypeInfo<?> unboxed = unbox(argumentType);
+                return unboxed != null && parameterType.isAssignableFrom(unboxed);
+            }
+            if (!parameterType.isPrimitive() && argumentType.isPrimitive()) {
+                return parameterType.isAssignableFrom(box(argumentType));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Infers the declared type variables of a method from the argument types
+     * 
+     * @return The type variables with their inferred values; null if an
+     *         inferred value violates a bound
+     */
+    private static TypeBindings inferTypeVariables(
+            final List<TypeVariableInfo> typeVariables,
+            final List<TypeInfo<?>> parameterTypes,
+            final TypeInfo<?>[] argumentTypes
+    ) {
+        final Map<Object, List<TypeInfo<?>>> constraints = new LinkedHashMap<Object, List<TypeInfo<?>>>();
+        for (TypeVariableInfo typeVariable : typeVariables) {
+            constraints.put(typeVariable.getKey(), new ArrayList<TypeInfo<?>>());
+        }
+        for (int i = 0; i < argumentTypes.length; i++) {
+            collectConstraints(parameterTypes.get(i), argumentTypes[i], constraints);
+        }
+
+        final List<TypeVariableInfo> bindings = new ArrayList<TypeVariableInfo>();
+        for (TypeVariableInfo typeVariable : typeVariables) {
+            final List<TypeInfo<?>> values = constraints.get(typeVariable.getKey());
+            if (!values.isEmpty()) {
+                bindings.add(typeVariable.withValue(getCommonSupertype(values)));
+            }
+        }
+        // One environment serves the bound checks and the parameter types of
+        // the candidate
+        final TypeBindings result = TypeBindings.of(bindings);
+        for (TypeVariableInfo binding : bindings) {
+            for (TypeInfo<?> bound : binding.getExtendsBounds()) {
+                if (!result.apply(bound).isAssignableFrom(binding.getTypeVariableValue())) {
+                    return null;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void collectConstraints(
+            final TypeInfo<?> parameterType,
+            final TypeInfo<?> argumentType,
+            final Map<Object, List<TypeInfo<?>>> constraints
+    ) {
+        if (parameterType == null || argumentType == null || argumentType.isWildcardType()) {
+            return;
+        }
+        if (parameterType.isTypeVariable() && parameterType.getTypeVariableValue() == null) {
+            final List<TypeInfo<?>> values = constraints.get(((TypeVariableInfo) parameterType).getKey());
+            if (values != null) {
+                values.add(argumentType.isPrimitive() ? box(argumentType) : argumentType);
+            }
+        }
+        else if (parameterType.isArray()) {
+            if (argumentType.isArray() && !argumentType.getArrayElementType().isPrimitive()) {
+                collectConstraints(parameterType.getArrayElementType(), argumentType.getArrayElementType(), constraints);
+            }
+        }
+        else if (parameterType.getType() instanceof ParameterizedType) {
+            final TypeInfo<?> supertype = argumentType.getSupertype(parameterType.getErasedClass());
+            if (supertype == null || supertype.getTypeVariables().size() != parameterType.getTypeVariables().size()) {
+                return;
+            }
+            for (int i = 0; i < parameterType.getTypeVariables().size(); i++) {
+                final TypeInfo<?> parameterArgument = parameterType.getTypeVariables().get(i).getTypeVariableValue();
+                final TypeInfo<?> argumentArgument = supertype.getTypeVariables().get(i).getTypeVariableValue();
+                if (parameterArgument != null && parameterArgument.isWildcardType()) {
+                    // ? extends P is matched against the argument or its
+                    // upper bound, ? super P against the argument or its
+                    // lower bound
+                    for (TypeInfo<?> bound : parameterArgument.getExtendsBounds()) {
+                        collectConstraints(bound, getBound(argumentArgument, true), constraints);
+                    }
+                    for (TypeInfo<?> bound : parameterArgument.getSuperBounds()) {
+                        collectConstraints(bound, getBound(argumentArgument, false), constraints);
+                    }
+                }
+                else {
+                    collectConstraints(parameterArgument, argumentArgument, constraints);
+                }
+            }
+        }
+    }
+
+    private static TypeInfo<?> getBound(final TypeInfo<?> type, final boolean upper) {
+        if (type == null || !type.isWildcardType()) {
+            return type;
+        }
+        final List<TypeInfo<?>> bounds = upper ? type.getExtendsBounds() : type.getSuperBounds();
+        return bounds.isEmpty() ? null : bounds.get(0);
+    }
+
+    private static TypeInfo<?> getCommonSupertype(final List<TypeInfo<?>> types) {
+        final List<TypeInfo<?>> candidates = new ArrayList<TypeInfo<?>>();
+        candidates.add(types.get(0));
+        candidates.addAll(types.get(0).getAllSupertypes());
+        for (TypeInfo<?> candidate : candidates) {
+            if (types.stream().allMatch(i -> candidate.isAssignableFrom(i))) {
+                return candidate;
+            }
+        }
+        return Reflection.getTypeInfo(Object.class);
+    }
+
+    private static MethodInfo getMostSpecific(
+            final TypeInfo<?> type,
+            final String name,
+            final TypeInfo<?>[] argumentTypes,
+            final List<Candidate> applicable
+    ) {
+        final List<Candidate> maximal = new ArrayList<Candidate>();
+        for (Candidate candidate : applicable) {
+            if (applicable.stream().allMatch(i -> i == candidate || !i.isStrictlyMoreSpecificThan(candidate))) {
+                maximal.add(candidate);
+            }
+        }
+        if (maximal.size() == 1) {
+            return maximal.get(0).method;
+        }
+        // Override-equivalent methods, e.g. inherited from several
+        // interfaces: prefer a concrete one
+        final List<Class<?>> erasure = maximal.get(0).getErasedParameterTypes();
+        if (maximal.stream().allMatch(i -> i.getErasedParameterTypes().equals(erasure))) {
+            return maximal.stream()
+                    .filter(i -> !Modifier.isAbstract(i.method.getModifiers()))
+                    .findFirst()
+                    .orElse(maximal.get(0))
+                    .method;
+        }
+        throw new AmbiguousCallException(String.format(
+                "Call to %s.%s(%s) is ambiguous: %s",
+                type, name,
+                Arrays.stream(argumentTypes).map(i -> String.valueOf(i)).collect(Collectors.joining(", ")),
+                maximal.stream().map(i -> i.method.toString()).collect(Collectors.joining(", "))
+        ));
+    }
+
+    private static TypeInfo<?> box(final TypeInfo<?> type) {
+        for (Class<?>[] box : BOXES) {
+            if (box[0] == type.getErasedClass()) {
+                return Reflection.getTypeInfo(box[1]);
+            }
+        }
+        return type;
+    }
+
+    private static TypeInfo<?> unbox(final TypeInfo<?> type) {
+        for (Class<?>[] box : BOXES) {
+            if (box[1] == type.getErasedClass()) {
+                return Reflection.getTypeInfo(box[0]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * An applicable method with its declared parameter types, one per
+     * argument; a variable arity candidate has an extra parameter type, the
+     * component type of its variable arity parameter. As in JLS 15.12.2.5,
+     * the declared types of one candidate are compared with those of the
+     * other, whose type variables are inferred from them.
+     */
+    private static final class Candidate {
+        private final MethodInfo method;
+        private final int arity;
+        private final List<TypeInfo<?>> parameterTypes;
+
+        Candidate(final MethodInfo method, final int arity, final List<TypeInfo<?>> parameterTypes) {
+            this.method = method;
+            this.arity = arity;
+            this.parameterTypes = parameterTypes;
+        }
+
+        boolean isMoreSpecificThan(final Candidate other) {
+            final boolean compareVariableArity = parameterTypes.size() > arity
+                    && other.method.getParameterCount() == arity + 1;
+            final List<TypeInfo<?>> types = compareVariableArity ? parameterTypes : parameterTypes.subList(0, arity);
+            final List<TypeInfo<?>> otherTypes = other.inferFrom(types);
+            if (otherTypes == null) {
+                return false;
+            }
+            for (int i = 0; i < types.size(); i++) {
+                if (!otherTypes.get(i).isAssignableFrom(types.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Gets the parameter types of this candidate, with its type variables
+         * inferred from the specified parameter types of another candidate
+         * 
+         * @return The parameter types; null if inference fails
+         */
+        private List<TypeInfo<?>> inferFrom(final List<TypeInfo<?>> types) {
+            if (!method.hasDeclaredTypeVariables()) {
+                return parameterTypes;
+            }
+            final TypeBindings bindings = inferTypeVariables(
+                    method.getDeclaredTypeVariables(), parameterTypes, types.toArray(new TypeInfo<?>[types.size()])
+            );
+            if (bindings == null) {
+                return null;
+            }
+            return parameterTypes.stream().map(i -> bindings.apply(i)).collect(Collectors.toList());
+        }
+
+        boolean isStrictlyMoreSpecificThan(final Candidate other) {
+            return isMoreSpecificThan(other) && !other.isMoreSpecificThan(this);
+        }
+
+        List<Class<?>> getErasedParameterTypes() {
+            return method.getErasedParameterTypes();
+        }
+    }
+
+    private OverloadResolution() {
+        // Prevent instantiation
+    }
+}
@@ -16,11 +16,15 @@
 package com.github.zerkseez.reflection;
 
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class ParameterizedTypeInfo extends AbstractClassInfo<ParameterizedType> {
@@ -38,6 +42,7 @@ public class ParameterizedTypeInfo extends AbstractClassInfo<ParameterizedType>
         super(type);
         this.classInfo = ClassInfo.of((Class<?>) type.getRawType());
         this.typeVariableSubstitutes = typeVariableSubstitutes;
+        precomputeHashCode();
     }
 
     @Override
@@ -89,45 +94,63 @@ public class ParameterizedTypeInfo extends AbstractClassInfo<ParameterizedType>
         if (classInfo.getSuperClass() == null) {
             return null;
         }
-        return classInfo.getSuperClass().substituteTypeVariableValues(getTypeVariables());
+        return getTypeBindings().apply(classInfo.getSuperClass());
     }
 
     @Override
     protected List<TypeInfo<?>> doGetInterfaces() {
         return classInfo.getInterfaces().stream()
-                .map(i -> i.substituteTypeVariableValues(getTypeVariables()))
+                .map(i -> getTypeBindings().apply(i))
                 .collect(Collectors.toList());
     }
 
     @Override
     protected List<FieldInfo> doGetDeclaredFields() {
-        return Arrays.stream(classInfo.getType().getDeclaredFields())
-                .map(i -> new FieldInfo(this, i))
+        return classInfo.getDeclaredFields().stream()
+                .map(i -> getMemberInfo(i.getField()))
                 .collect(Collectors.toList());
     }
     
     @Override
     protected List<ConstructorInfo> doGetPublicConstructors() {
-        return Arrays.stream(classInfo.getType().getConstructors())
-                .map(i -> new ConstructorInfo(this, i))
+        return classInfo.getPublicConstructors().stream()
+                .map(i -> getMemberInfo(i.getExecutable()))
                 .collect(Collectors.toList());
     }
     
     @Override
     protected List<ConstructorInfo> doGetDeclaredConstructors() {
-        return Arrays.stream(classInfo.getType().getDeclaredConstructors())
-                .map(i -> new ConstructorInfo(this, i))
+        return classInfo.getDeclaredConstructors().stream()
+                .map(i -> getMemberInfo(i.getExecutable()))
                 .collect(Collectors.toList());
     }
 
     @Override
     protected List<MethodInfo> doGetDeclaredMethods() {
-        return Arrays.stream(classInfo.getType().getDeclaredMethods())
-                .filter(i -> !i.isBridge())
-                .map(i -> new MethodInfo(this, i))
+        return classInfo.getDeclaredMethods().stream()
+                .map(i -> getMemberInfo(i.getExecutable()))
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Creates a view of the member of the raw class, so that everything that
+     * does not depend on the type arguments is computed once per raw class
+     */
+    @Override
+    MethodInfo createMemberInfo(final Method method) {
+        return new MethodInfo(this, classInfo.getMemberInfo(method));
+    }
+
+    @Override
+    FieldInfo createMemberInfo(final Field field) {
+        return new FieldInfo(this, classInfo.getMemberInfo(field));
+    }
+
+    @Override
+    ConstructorInfo createMemberInfo(final Constructor<?> constructor) {
+        return new ConstructorInfo(this, classInfo.getMemberInfo(constructor));
+    }
+
     @Override
     protected boolean doGetIsPrimitive() {
         return classInfo.isPrimitive();
@@ -232,13 +255,25 @@ public class ParameterizedTypeInfo extends AbstractClassInfo<ParameterizedType>
 
     @Override
     public TypeInfo<?> substituteTypeVariableValues(final List<TypeVariableInfo> typeVariables) {
-        if (hasTypeVariables()) {
-            final List<TypeVariableInfo> substitutionResults = getTypeVariables().stream()
-                    .map(i -> i.withValue(i.substituteTypeVariableValues(typeVariables)))
-                    .collect(Collectors.toList());
-            return new ParameterizedTypeInfo(this.getType(), substitutionResults);
-        }
-        return this;
+        return substitute(TypeBindings.unmemoized(typeVariables));
+    }
+
+    @Override
+    TypeInfo<?> doSubstitute(final TypeBindings bindings) {
+        final List<TypeVariableInfo> substitutionResults = getTypeVariables().stream()
+                .map(i -> i.withValue(bindings.apply(i)))
+                .collect(Collectors.toList());
+        return TypeInterner.intern(new ParameterizedTypeInfo(this.getType(), substitutionResults));
+    }
+
+    @Override
+    Set<Object> doGetSubstitutionKeys() {
+        return getTypeVariableSubstitutionKeys();
+    }
+
+    @Override
+    Object[] getSubstitutes() {
+        return new Object[] { typeVariableSubstitutes };
     }
 
     @Override
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result of Reflection.preload()
+ *
+ * @author xerxes
+ */
+public final class PreloadReport {
+    private final long elapsedNanos;
+    private final Map<Class<?>, Long> typeNanos;
+    private final Map<Class<?>, Throwable> failures;
+
+    PreloadReport(final long elapsedNanos, final Map<Class<?>, Long> typeNanos, final Map<Class<?>, Throwable> failures) {
+        this.elapsedNanos = elapsedNanos;
+        this.typeNanos = Collections.unmodifiableMap(new LinkedHashMap<Class<?>, Long>(typeNanos));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<Class<?>, Throwable>(failures));
+    }
+
+    /**
+     * Gets the wall-clock time the whole preload took
+     * 
+     * @return The elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the time spent preloading each type. Types share much of their
+     * type information, so work done for one type is not repeated, and is not
+     * counted, for the types preloaded after it.
+     * 
+     * @return The time spent per type in nanoseconds, in the order the types
+     *         were given
+     */
+    public Map<Class<?>, Long> getTypeNanos() {
+        return typeNanos;
+    }
+
+    /**
+     * Gets the types that could not be preloaded
+     * 
+     * @return The exception thrown for each type that could not be preloaded
+     */
+    public Map<Class<?>, Throwable> getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "Preloaded %d types in %d ms (%d failed)",
+                typeNanos.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failures.size()
+        );
+    }
+}
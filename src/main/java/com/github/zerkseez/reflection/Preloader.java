@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Eagerly computes the type information that is otherwise computed lazily on
+ * first use, one task per type.
+ *
+ * @author xerxes
+ */
+final class Preloader {
+    static PreloadReport preload(final Collection<Class<?>> types, final Executor executor) {
+        final long start = System.nanoTime();
+        final Map<Class<?>, Long> typeNanos = new ConcurrentHashMap<Class<?>, Long>();
+        final Map<Class<?>, Throwable> failures = new ConcurrentHashMap<Class<?>, Throwable>();
+        final List<CompletableFuture<Void>> tasks = new ArrayList<CompletableFuture<Void>>(types.size());
+        for (Class<?> type : types) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                final long typeStart = System.nanoTime();
+                try {
+                    preload(Reflection.getTypeInfo(type));
+                }
+                catch (RuntimeException | LinkageError e) {
+                    failures.put(type, e);
+                }
+                typeNanos.put(type, System.nanoTime() - typeStart);
+            }, executor));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[tasks.size()])).join();
+
+        final Map<Class<?>, Long> orderedTypeNanos = new LinkedHashMap<Class<?>, Long>();
+        final Map<Class<?>, Throwable> orderedFailures = new LinkedHashMap<Class<?>, Throwable>();
+        for (Class<?> type : types) {
+            orderedTypeNanos.put(type, typeNanos.get(type));
+            if (failures.containsKey(type)) {
+                orderedFailures.put(type, failures.get(type));
+            }
+        }
+        return new PreloadReport(System.nanoTime() - start, orderedTypeNanos, orderedFailures);
+    }
+
+    /**
+     * Computes the supertypes, fields, constructors and methods of the
+     * specified type, and the types and string representations of its members
+     * 
+     * @param typeInfo
+     *            The type
+     */
+    static void preload(final TypeInfo<?> typeInfo) {
+        typeInfo.toString();
+        for (TypeInfo<?> i = typeInfo.getSuperClass(); i != null; i = i.getSuperClass()) {
+            i.toString();
+        }
+        typeInfo.getInterfaces().forEach(i -> i.toString());
+        typeInfo.getPublicFields().forEach(i -> {
+            i.getType();
+            i.toString();
+        });
+        typeInfo.getPublicConstructors().forEach(i -> {
+            i.getParameters();
+            i.getExceptionTypes();
+            i.toString();
+        });
+        typeInfo.getPublicMethods().forEach(i -> {
+            i.getReturnType();
+            i.getParameters();
+            i.getExceptionTypes();
+            i.toString();
+        });
+    }
+
+    private Preloader() {
+        // Prevent instantiation
+    }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Erasure-only view of a class, obtained through Reflection.getRawTypeInfo().
+ * It has no type variables, and its supertypes, array element type and the
+ * types of its members are raw views as well, so no generic signature is
+ * parsed and no type variable is resolved. One view is kept with the
+ * canonical ClassInfo object of each class and shares its lifetime.
+ *
+ * @author xerxes
+ */
+final class RawClassInfo extends ClassInfo {
+    RawClassInfo(final Class<?> type) {
+        super(type);
+    }
+
+    @Override
+    protected String doGetId() {
+        return String.format("RawClass:%s", getFullBinaryName());
+    }
+
+    @Override
+    protected TypeInfo<?> doGetSuperClass() {
+        return Reflection.getRawTypeInfo(getType().getSuperclass());
+    }
+
+    @Override
+    protected List<TypeInfo<?>> doGetInterfaces() {
+        return getRawTypeInfos(getType().getInterfaces());
+    }
+
+    @Override
+    protected TypeInfo<?> doGetArrayElementType() {
+        return Reflection.getRawTypeInfo(getType().getComponentType());
+    }
+
+    @Override
+    protected List<TypeVariableInfo> doGetDeclaredTypeVariables() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    MethodInfo createMemberInfo(final Method method) {
+        return new MethodInfo(this, method) {
+            @Override
+            protected TypeInfo<?> doGetParameterType(final int index) {
+                return Reflection.getRawTypeInfo(getErasedParameterTypes().get(index));
+            }
+
+            @Override
+            protected List<TypeInfo<?>> doGetExceptionTypes() {
+                return getRawTypeInfos(getExecutable().getExceptionTypes());
+            }
+
+            @Override
+            protected TypeInfo<?> doGetReturnType() {
+                return Reflection.getRawTypeInfo(getExecutable().getReturnType());
+            }
+
+            @Override
+            protected List<TypeVariableInfo> doGetDeclaredTypeVariables() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    @Override
+    FieldInfo createMemberInfo(final Field field) {
+        return new FieldInfo(this, field) {
+            @Override
+            protected TypeInfo<?> doGetType() {
+                return Reflection.getRawTypeInfo(getField().getType());
+            }
+        };
+    }
+
+    @Override
+    ConstructorInfo createMemberInfo(final Constructor<?> constructor) {
+        return new ConstructorInfo(this, constructor) {
+            @Override
+            protected TypeInfo<?> doGetParameterType(final int index) {
+                return Reflection.getRawTypeInfo(getErasedParameterTypes().get(index));
+            }
+
+            @Override
+            protected List<TypeInfo<?>> doGetExceptionTypes() {
+                return getRawTypeInfos(getExecutable().getExceptionTypes());
+            }
+
+            @Override
+            protected List<TypeVariableInfo> doGetDeclaredTypeVariables() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    private static List<TypeInfo<?>> getRawTypeInfos(final Class<?>[] types) {
+        return Arrays.stream(types)
+                .map(i -> Reflection.getRawTypeInfo(i))
+                .collect(Collectors.toList());
+    }
+}
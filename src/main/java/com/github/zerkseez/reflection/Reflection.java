@@ -20,6 +20,9 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class consists exclusively of static method for obtaining TypeInfo
@@ -45,16 +48,16 @@ public final class Reflection {
             return ClassInfo.of((Class<?>) type);
         }
         else if (type instanceof GenericArrayType) {
-            return new GenericArrayInfo((GenericArrayType) type);
+            return TypeInterner.intern(new GenericArrayInfo((GenericArrayType) type));
         }
         else if (type instanceof ParameterizedType) {
-            return new ParameterizedTypeInfo((ParameterizedType) type);
+            return TypeInterner.intern(new ParameterizedTypeInfo((ParameterizedType) type));
         }
         else if (type instanceof TypeVariable) {
-            return new TypeVariableInfo((TypeVariable<?>) type);
+            return TypeVariableInfo.of((TypeVariable<?>) type);
         }
         else if (type instanceof WildcardType) {
-            return new WildcardTypeInfo((WildcardType) type);
+            return TypeInterner.intern(new WildcardTypeInfo((WildcardType) type));
         }
         throw new ReflectionException(String.format("%s is not supported", type.getClass().getName()));
     }
@@ -76,6 +79,105 @@ public final class Reflection {
         }
     }
 
+    /**
+     * Obtains an erasure-only TypeInfo object for the specified class. It
+     * reports no type variables, and its supertypes, array element type and
+     * the types of its fields, parameters, return values and exceptions are
+     * erased classes obtained the same way, so no generic signature is read
+     * and no type variable is resolved. This suits callers that only need
+     * erased classes, names and member lists. Raw views are not equal to the
+     * objects returned by getTypeInfo(), but they are kept with them and are
+     * invalidated along with them.
+     * 
+     * @param type
+     *            The class
+     * @return The raw TypeInfo object; null if the class is null
+     */
+    public static TypeInfo<?> getRawTypeInfo(final Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        return ClassInfo.of(type).getRawView();
+    }
+
+    /**
+     * Computes the type information of the specified classes ahead of first
+     * use: supertypes, fields, constructors, methods and the types of their
+     * parameters. Each class is preloaded by a separate task on the common
+     * fork-join pool. Blocks until all classes are done.
+     * 
+     * @param types
+     *            The classes to preload
+     * @return The time spent, in total and per class
+     */
+    public static PreloadReport preload(final Collection<Class<?>> types) {
+        return preload(types, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the type information of the specified classes ahead of first
+     * use: supertypes, fields, constructors, methods and the types of their
+     * parameters. Each class is preloaded by a separate task on the specified
+     * executor. Blocks until all classes are done.
+     * 
+     * @param types
+     *            The classes to preload
+     * @param executor
+     *            The executor running the tasks, e.g. a ForkJoinPool
+     * @return The time spent, in total and per class
+     */
+    public static PreloadReport preload(final Collection<Class<?>> types, final Executor executor) {
+        return Preloader.preload(types, executor);
+    }
+
+    /**
+     * Drops all cached type information for the classes defined by the
+     * specified class loader or by any of its descendants, together with every
+     * cached type and member that refers to them. Lookups on other threads
+     * are not blocked while this runs.
+     * 
+     * @param classLoader
+     *            The class loader; null for the bootstrap loader, which drops
+     *            everything
+     */
+    public static void invalidate(final ClassLoader classLoader) {
+        TypeInterner.getProvider().invalidate(new Invalidation(i -> isSameOrDescendant(i.getClassLoader(), classLoader)));
+    }
+
+    /**
+     * Drops the cached type information for the specified class, together
+     * with every cached type and member that refers to it. Lookups on other
+     * threads are not blocked while this runs.
+     * 
+     * @param type
+     *            The class
+     */
+    public static void invalidate(final Class<?> type) {
+        TypeInterner.getProvider().invalidate(new Invalidation(i -> i == type));
+    }
+
+    private static boolean isSameOrDescendant(final ClassLoader classLoader, final ClassLoader ancestor) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader i = classLoader; i != null; i = i.getParent()) {
+            if (i == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the cache provider selected at startup
+     * 
+     * @return The cache provider
+     * @see ReflectionCacheProvider
+     */
+    public static ReflectionCacheProvider getCacheProvider() {
+        return TypeInterner.getProvider();
+    }
+
     private Reflection() {
         // Prevent instantiation
     }
@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Service-provider interface controlling how ClassInfo objects are cached and
+ * how other TypeInfo objects are interned. The provider is selected once, at
+ * startup, by the {@value #PROVIDER_PROPERTY} system property:
+ * <ul>
+ * <li>"weak" (default) - types are shared while they are reachable; see
+ * {@link WeakReflectionCacheProvider}</li>
+ * <li>"unbounded" - types are kept forever; see
+ * {@link UnboundedReflectionCacheProvider}</li>
+ * <li>"bounded" - at most {@value #MAXIMUM_SIZE_PROPERTY} types are kept; see
+ * {@link BoundedReflectionCacheProvider}</li>
+ * <li>the name of a class implementing this interface with a public no-arg
+ * constructor</li>
+ * </ul>
+ * If the property is not set, the first provider registered with
+ * java.util.ServiceLoader is used, then the bounded provider if
+ * {@value #MAXIMUM_SIZE_PROPERTY} is positive, then the weak provider.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @author xerxes
+ */
+public interface ReflectionCacheProvider {
+    String PROVIDER_PROPERTY = "com.github.zerkseez.reflection.cache.provider";
+    String MAXIMUM_SIZE_PROPERTY = "com.github.zerkseez.reflection.cache.maximumSize";
+
+    /**
+     * Gets the ClassInfo object for the specified class
+     * 
+     * @param type
+     *            The class
+     * @param factory
+     *            Creates a new ClassInfo object for the class
+     * @return The cached ClassInfo object, or a newly created one
+     */
+    ClassInfo getClassInfo(Class<?> type, Function<Class<?>, ClassInfo> factory);
+
+    /**
+     * Gets the canonical instance equal to the specified newly created
+     * TypeInfo object. TypeInfo equality is structural, so TypeInfo objects
+     * can be used as map keys directly.
+     * 
+     * @param <T>
+     *            The TypeInfo type
+     * @param candidate
+     *            The newly created TypeInfo object
+     * @return The canonical instance, or the candidate itself
+     */
+    <T extends TypeInfo<?>> T intern(T candidate);
+
+    /**
+     * Removes every cached ClassInfo object and interned TypeInfo object for
+     * which the specified predicate is true. The predicate is called once per
+     * cached object and may discard lazily computed values of objects it keeps.
+     * Lookups may run concurrently. The default implementation removes
+     * nothing, for providers that do not support invalidation.
+     * 
+     * @param predicate
+     *            Returns true for objects that should be removed
+     */
+    default void invalidate(final Predicate<? super TypeInfo<?>> predicate) {
+        // Invalidation is not supported
+    }
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.io.Serializable;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Subtyping rules of JLS 4.10 on TypeInfo objects. Nested checks go through
+ * TypeInfo.isAssignableFrom(), so their results are memoized as well.
+ * <p>
+ * A type variable with a value stands for its value. Raw types are
+ * supertypes of all their parameterizations, but a raw type is not a subtype
+ * of a parameterized type, since that assignment needs an unchecked
+ * conversion. Wildcards are only related by containment (JLS 4.5.1); a
+ * wildcard found at the top level is taken as its upper bound when it is the
+ * subtype, and checked for containment when it is the supertype.
+ *
+ * @author xerxes
+ */
+final class Subtyping {
+    /**
+     * Checks if the specified subtype is a subtype of the specified
+     * supertype
+     * 
+     * @param subtype
+     *            The candidate subtype
+     * @param supertype
+     *            The candidate supertype
+     * @return true if subtype &lt;: supertype; false otherwise
+     */
+    static boolean isSubtype(final TypeInfo<?> subtype, final TypeInfo<?> supertype) {
+        final TypeInfo<?> s = unwrap(subtype);
+        final TypeInfo<?> t = unwrap(supertype);
+        if (s == null || t == null) {
+            return false;
+        }
+        if (s.equals(t)) {
+            return true;
+        }
+        if (t.isWildcardType()) {
+            return contains(t, s);
+        }
+        if (s.isWildcardType() || s.isTypeVariable()) {
+            if (t.isTypeVariable() && s.isTypeVariable()
+                    && ((TypeVariableInfo) s).isSameTypeVariable((TypeVariableInfo) t)) {
+                return true;
+            }
+            for (TypeInfo<?> bound : getUpperBounds(s)) {
+                if (t.isAssignableFrom(bound)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (t.isTypeVariable()) {
+            return false;
+        }
+        if (s.isPrimitive() || t.isPrimitive()) {
+            return s.isPrimitive() && t.isPrimitive() && isPrimitiveWidening(s.getErasedClass(), t.getErasedClass());
+        }
+        if (t.isArray()) {
+            if (!s.isArray()) {
+                return false;
+            }
+            final TypeInfo<?> sElement = s.getArrayElementType();
+            final TypeInfo<?> tElement = t.getArrayElementType();
+            if (sElement.isPrimitive() || tElement.isPrimitive()) {
+                return sElement.equals(tElement);
+            }
+            return tElement.isAssignableFrom(sElement);
+        }
+        if (s.isArray()) {
+            final Class<?> c = t.getErasedClass();
+            return c == Object.class || c == Cloneable.class || c == Serializable.class;
+        }
+        if (t.getType() instanceof ParameterizedType) {
+            return isSubtypeOfParameterizedType(s, t);
+        }
+        return t.getErasedClass() != null && s.isSubclassOf(t.getErasedClass());
+    }
+
+    private static boolean isSubtypeOfParameterizedType(final TypeInfo<?> s, final TypeInfo<?> t) {
+        final TypeInfo<?> supertype = s.getSupertype(t.getErasedClass());
+        if (supertype == null) {
+            return false;
+        }
+        final List<TypeVariableInfo> sArguments = supertype.getTypeVariables();
+        final List<TypeVariableInfo> tArguments = t.getTypeVariables();
+        if (sArguments.size() != tArguments.size()) {
+            return false;
+        }
+        for (int i = 0; i < tArguments.size(); i++) {
+            final TypeInfo<?> tArgument = tArguments.get(i).getTypeVariableValue();
+            final TypeInfo<?> sArgument = sArguments.get(i).getTypeVariableValue();
+            if (tArgument == null) {
+                continue;
+            }
+            if (sArgument == null || !contains(tArgument, sArgument)) {
+                // A raw supertype needs an unchecked conversion
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the specified type argument contains the other (JLS 4.5.1)
+     */
+    private static boolean contains(final TypeInfo<?> container, final TypeInfo<?> contained) {
+        final TypeInfo<?> t = unwrap(container);
+        final TypeInfo<?> s = unwrap(contained);
+        if (!t.isWildcardType()) {
+            return t.equals(s) || (!s.isWildcardType() && t.isAssignableFrom(s) && s.isAssignableFrom(t));
+        }
+        if (s.isWildcardType()) {
+            for (TypeInfo<?> upperBound : getUpperBounds(t)) {
+                if (getUpperBounds(s).stream().noneMatch(i -> upperBound.isAssignableFrom(i))) {
+                    return false;
+                }
+            }
+            for (TypeInfo<?> lowerBound : t.getSuperBounds()) {
+                if (s.getSuperBounds().stream().noneMatch(i -> i.isAssignableFrom(lowerBound))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (TypeInfo<?> upperBound : getUpperBounds(t)) {
+            if (!upperBound.isAssignableFrom(s)) {
+                return false;
+            }
+        }
+        for (TypeInfo<?> lowerBound : t.getSuperBounds()) {
+            if (!s.isAssignableFrom(lowerBound)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<TypeInfo<?>> getUpperBounds(final TypeInfo<?> type) {
+        final List<TypeInfo<?>> bounds = type.getExtendsBounds();
+        if (bounds == null || bounds.isEmpty()) {
+            return Collections.singletonList(Reflection.getTypeInfo(Object.class));
+        }
+        return bounds;
+    }
+
+    private static TypeInfo<?> unwrap(final TypeInfo<?> type) {
+        TypeInfo<?> result = type;
+        while (result != null && result.isTypeVariable() && result.getTypeVariableValue() != null) {
+            result = result.getTypeVariableValue();
+        }
+        return result;
+    }
+
+    /**
+     * Checks the direct and transitive subtype relations among primitive
+     * types (JLS 4.10.1)
+     */
+    private static boolean isPrimitiveWidening(final Class<?> s, final Class<?> t) {
+        if (s == t) {
+            return true;
+        }
+        if (s == byte.class) {
+            return t == short.class || isPrimitiveWidening(short.class, t);
+        }
+        else if (s == short.class || s == char.class) {
+            return t == int.class || isPrimitiveWidening(int.class, t);
+        }
+        else if (s == int.class) {
+            return t == long.class || isPrimitiveWidening(long.class, t);
+        }
+        else if (s == long.class) {
+            return t == float.class || isPrimitiveWidening(float.class, t);
+        }
+        else if (s == float.class) {
+            return t == double.class;
+        }
+        return false;
+    }
+
+    private Subtyping() {
+        // Prevent instantiation
+    }
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Binding environment for type variable substitution. Bindings are indexed by
+ * TypeVariableInfo.getKey(), so looking up a type variable does not depend on
+ * the number of bindings; when a type variable is bound more than once, the
+ * first binding wins. Substitution results are memoized per environment, so
+ * an environment should be kept and reused for as long as its owner, e.g. a
+ * parameterized type resolving its supertypes and members; an environment for
+ * a single substitution is created by unmemoized() instead.
+ *
+ * @author xerxes
+ */
+final class TypeBindings {
+    /**
+     * Substitution key of types that change under substitution even when none
+     * of their type variables is bound, e.g. type variables with a value,
+     * which are replaced by that value
+     */
+    static final Object ALWAYS_SUBSTITUTED = new Object();
+
+    private static final TypeBindings EMPTY = new TypeBindings(Collections.emptyList(), false);
+
+    static TypeBindings of(final List<TypeVariableInfo> typeVariables) {
+        return typeVariables.isEmpty() ? EMPTY : new TypeBindings(typeVariables, true);
+    }
+
+    /**
+     * Creates an environment that does not memoize substitution results, for
+     * a single substitution whose environment is thrown away afterwards
+     * 
+     * @param typeVariables
+     *            The bindings
+     * @return The environment
+     */
+    static TypeBindings unmemoized(final List<TypeVariableInfo> typeVariables) {
+        return typeVariables.isEmpty() ? EMPTY : new TypeBindings(typeVariables, false);
+    }
+
+    static Set<Object> getSubstitutionKeys(final TypeInfo<?> type) {
+        if (type instanceof AbstractTypeInfo) {
+            return ((AbstractTypeInfo<?>) type).getSubstitutionKeys();
+        }
+        return Collections.singleton(ALWAYS_SUBSTITUTED);
+    }
+
+    private final List<TypeVariableInfo> typeVariables;
+    private final Map<Object, TypeVariableInfo> index;
+    private final ConcurrentMap<TypeInfo<?>, TypeInfo<?>> substituted;
+    private final ConcurrentMap<TypeInfo<?>, TypeInfo<?>> resolved;
+
+    private TypeBindings(final List<TypeVariableInfo> typeVariables, final boolean memoized) {
+        this.typeVariables = typeVariables;
+        this.index = new HashMap<Object, TypeVariableInfo>();
+        for (TypeVariableInfo typeVariable : typeVariables) {
+            index.putIfAbsent(typeVariable.getKey(), typeVariable);
+        }
+        // The empty environment is shared by everything, so it must not keep
+        // results alive either
+        this.substituted = memoized ? new ConcurrentHashMap<TypeInfo<?>, TypeInfo<?>>() : null;
+        this.resolved = memoized ? new ConcurrentHashMap<TypeInfo<?>, TypeInfo<?>>() : null;
+    }
+
+    List<TypeVariableInfo> getTypeVariables() {
+        return typeVariables;
+    }
+
+    /**
+     * Gets the binding of the specified type variable
+     * 
+     * @param typeVariable
+     *            The type variable
+     * @return The binding, or null if the type variable is not bound
+     */
+    TypeVariableInfo get(final TypeVariableInfo typeVariable) {
+        return index.get(typeVariable.getKey());
+    }
+
+    /**
+     * Checks if substituting a type with the specified substitution keys may
+     * change it
+     * 
+     * @param substitutionKeys
+     *            The substitution keys of the type
+     * @return false if substitution returns the type unchanged; true otherwise
+     */
+    boolean affects(final Set<Object> substitutionKeys) {
+        if (substitutionKeys.contains(ALWAYS_SUBSTITUTED)) {
+            return true;
+        }
+        if (index.isEmpty()) {
+            return false;
+        }
+        for (Object key : substitutionKeys) {
+            if (index.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Substitutes these bindings into the specified type
+     * 
+     * @param type
+     *            The type; may be null
+     * @return The substitution result
+     */
+    TypeInfo<?> apply(final TypeInfo<?> type) {
+        if (type instanceof AbstractTypeInfo) {
+            return ((AbstractTypeInfo<?>) type).substitute(this);
+        }
+        return (type == null) ? null : type.substituteTypeVariableValues(typeVariables);
+    }
+
+    TypeInfo<?> substitute(final TypeInfo<?> type, final Function<TypeInfo<?>, TypeInfo<?>> substitution) {
+        return memoize(substituted, type, substitution);
+    }
+
+    TypeInfo<?> resolve(final TypeInfo<?> type, final Function<TypeInfo<?>, TypeInfo<?>> resolution) {
+        return memoize(resolved, type, resolution);
+    }
+
+    /**
+     * Gets the memoized results, for invalidation
+     * 
+     * @return A snapshot of the memoized results
+     */
+    List<TypeInfo<?>> getMemoizedResults() {
+        final List<TypeInfo<?>> result = new ArrayList<TypeInfo<?>>();
+        if (substituted != null) {
+            result.addAll(substituted.values());
+            result.addAll(resolved.values());
+        }
+        return result;
+    }
+
+    private static TypeInfo<?> memoize(
+            final ConcurrentMap<TypeInfo<?>, TypeInfo<?>> results,
+            final TypeInfo<?> type,
+            final Function<TypeInfo<?>, TypeInfo<?>> function
+    ) {
+        if (results == null) {
+            return function.apply(type);
+        }
+        // Not computeIfAbsent(), since the function recurses into this map
+        final TypeInfo<?> result = results.get(type);
+        if (result != null) {
+            return result;
+        }
+        final TypeInfo<?> computed = function.apply(type);
+        if (computed == null) {
+            return null;
+        }
+        final TypeInfo<?> existing = results.putIfAbsent(type, computed);
+        return (existing == null) ? computed : existing;
+    }
+}
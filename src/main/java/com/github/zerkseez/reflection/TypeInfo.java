@@ -16,12 +16,22 @@
 package com.github.zerkseez.reflection;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Interface for obtaining type information
+ * Interface for obtaining type information. The default methods compute their
+ * results from the other methods on every call; AbstractTypeInfo overrides
+ * them with the cached lookups their documentation describes.
  * 
  * @author xerxes
  *
@@ -94,6 +104,120 @@ public interface TypeInfo<T extends Type> extends ElementInfo, HasTypeVariables
      */
     List<TypeInfo<?>> getInterfaces();
 
+    /**
+     * Gets the supertype of this type that is an instance of the specified
+     * class, with its type variables resolved as seen from this type; e.g. for
+     * a class extending java.util.HashMap&lt;java.lang.String,
+     * java.lang.Integer&gt;, the supertype for java.util.Map is
+     * java.util.Map&lt;java.lang.String, java.lang.Integer&gt;. This type
+     * itself is returned for its own class. Supertypes are looked up in a
+     * table that is built once per type.
+     * 
+     * @param target
+     *            The class of the supertype
+     * @return The supertype; null if the specified class is not a supertype
+     *         of this type, or if this object represents a type variable, a
+     *         wildcard type or a generic array type
+     */
+    default TypeInfo<?> getSupertype(final Class<?> target) {
+        if (getErasedClass() == target) {
+            return this;
+        }
+        return getAllSupertypes().stream().filter(i -> i.getErasedClass() == target).findFirst().orElse(null);
+    }
+
+    /**
+     * Gets all supertypes of this type, excluding this type itself, with
+     * their type variables resolved as seen from this type. Each class
+     * appears once; the super-class and its supertypes come first, followed
+     * by the interfaces in declaration order.
+     * 
+     * @return All supertypes of this type; empty if this object represents a
+     *         type variable, a wildcard type or a generic array type
+     */
+    default List<TypeInfo<?>> getAllSupertypes() {
+        final List<TypeInfo<?>> directSupertypes = new ArrayList<TypeInfo<?>>();
+        if (getSuperClass() != null) {
+            directSupertypes.add(getSuperClass());
+        }
+        directSupertypes.addAll(getInterfaces());
+        final Map<Class<?>, TypeInfo<?>> supertypes = new LinkedHashMap<Class<?>, TypeInfo<?>>();
+        for (TypeInfo<?> supertype : directSupertypes) {
+            supertypes.putIfAbsent(supertype.getErasedClass(), supertype);
+            for (TypeInfo<?> indirectSupertype : supertype.getAllSupertypes()) {
+                supertypes.putIfAbsent(indirectSupertype.getErasedClass(), indirectSupertype);
+            }
+        }
+        if (isInterface()) {
+            supertypes.putIfAbsent(Object.class, Reflection.getTypeInfo(Object.class));
+        }
+        return Collections.unmodifiableList(new ArrayList<TypeInfo<?>>(supertypes.values()));
+    }
+
+    /**
+     * Checks if the erased class of this type is the specified class, or
+     * extends or implements it, like target.isAssignableFrom() for reference
+     * types. The check is a binary search in the sorted ids of the
+     * supertypes, built once per class.
+     * 
+     * @param target
+     *            The class
+     * @return true if the erased class of this type is a subclass of the
+     *         specified class; false otherwise, or if this object represents
+     *         a type variable, a wildcard type or a generic array type
+     */
+    default boolean isSubclassOf(final Class<?> target) {
+        return getErasedClass() != null && target.isAssignableFrom(getErasedClass());
+    }
+
+    /**
+     * Checks if the specified type is a subtype of this type under the
+     * subtyping rules of the Java language, taking type arguments, wildcard
+     * containment and type variable bounds into account; e.g.
+     * java.util.List&lt;? extends java.lang.Number&gt; is assignable from
+     * java.util.ArrayList&lt;java.lang.Integer&gt; but not from
+     * java.util.ArrayList&lt;java.lang.String&gt;. Assignments that need
+     * boxing or an unchecked conversion are not accepted. Results are
+     * memoized per pair of types.
+     * 
+     * @param type
+     *            The candidate subtype
+     * @return true if the specified type is a subtype of this type; false
+     *         otherwise
+     */
+    default boolean isAssignableFrom(final TypeInfo<?> type) {
+        return type == this || (type != null && Subtyping.isSubtype(type, this));
+    }
+
+    /**
+     * Gets a type argument of the supertype that is an instance of the
+     * specified class; e.g. for a class extending
+     * java.util.HashMap&lt;java.lang.String, java.lang.Integer&gt;, type
+     * argument 1 of java.util.Map is java.lang.Integer
+     * 
+     * @param target
+     *            The class of the supertype
+     * @param index
+     *            The index of the type argument
+     * @return The type argument; the type variable itself if the supertype
+     *         does not resolve it (e.g. a raw supertype); null if the
+     *         specified class is not a supertype of this type
+     * @throws ReflectionException
+     *             If the supertype has no type argument at the specified index
+     */
+    default TypeInfo<?> resolveTypeArgument(final Class<?> target, final int index) {
+        final TypeInfo<?> supertype = getSupertype(target);
+        if (supertype == null) {
+            return null;
+        }
+        final List<TypeVariableInfo> typeVariables = supertype.getTypeVariables();
+        if (index < 0 || index >= typeVariables.size()) {
+            throw new ReflectionException(String.format("%s has no type argument at index %d", supertype, index));
+        }
+        final TypeVariableInfo typeVariable = typeVariables.get(index);
+        return (typeVariable.getTypeVariableValue() == null) ? typeVariable : typeVariable.getTypeVariableValue();
+    }
+
     /**
      * Gets all public fields
      * 
@@ -102,7 +226,22 @@ public interface TypeInfo<T extends Type> extends ElementInfo, HasTypeVariables
     List<FieldInfo> getPublicFields();
 
     /**
-     * Gets public field by its name
+     * Streams the public fields, including inherited ones, walking the
+     * hierarchy as the stream is consumed. Fields hidden by a field of the
+     * same name in a subclass are skipped. Unlike getPublicFields(), the
+     * fields come in hierarchy order, declared fields first; sort the stream
+     * if order matters. The stream may be made parallel; hidden fields are
+     * still skipped in hierarchy order.
+     * 
+     * @return The public fields
+     */
+    default Stream<FieldInfo> publicFields() {
+        return getPublicFields().stream();
+    }
+
+    /**
+     * Gets public field by its name; looked up in an index built on first
+     * use
      * 
      * @param name
      *            The field name
@@ -124,6 +263,22 @@ public interface TypeInfo<T extends Type> extends ElementInfo, HasTypeVariables
      */
     List<ConstructorInfo> getPublicConstructors();
 
+    /**
+     * Gets the public constructor with the specified erased parameter types;
+     * looked up in an index built on first use
+     * 
+     * @param parameterTypes
+     *            The erased parameter types
+     * @return The constructor; null if not found
+     */
+    default ConstructorInfo getPublicConstructor(final Class<?>... parameterTypes) {
+        final List<Class<?>> erasure = Arrays.asList(parameterTypes);
+        return getPublicConstructors().stream()
+                .filter(i -> i.getErasedParameterTypes().equals(erasure))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Gets all declared constructors
      * 
@@ -138,6 +293,59 @@ public interface TypeInfo<T extends Type> extends ElementInfo, HasTypeVariables
      */
     List<MethodInfo> getPublicMethods();
 
+    /**
+     * Streams the public methods, including inherited ones, walking the
+     * hierarchy as the stream is consumed. Methods overridden in a subclass
+     * are skipped. Unlike getPublicMethods(), the methods come in hierarchy
+     * order, declared methods first; sort the stream if order matters. The
+     * stream may be made parallel; overridden methods are still skipped in
+     * hierarchy order.
+     * 
+     * @return The public methods
+     */
+    default Stream<MethodInfo> publicMethods() {
+        return getPublicMethods().stream();
+    }
+
+    /**
+     * Gets the public method with the specified name and erased parameter
+     * types, like Class.getMethod(); looked up in an index built on first use
+     * 
+     * @param name
+     *            The method name
+     * @param parameterTypes
+     *            The erased parameter types
+     * @return The method; null if not found
+     */
+    default MethodInfo getPublicMethod(final String name, final Class<?>... parameterTypes) {
+        final List<Class<?>> erasure = Arrays.asList(parameterTypes);
+        return getPublicMethods().stream()
+                .filter(i -> i.getName().equals(name) && i.getErasedParameterTypes().equals(erasure))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Finds the public method that a call with arguments of the specified
+     * types would invoke, following the overload resolution rules of the Java
+     * language: applicability by subtyping, then with boxing and unboxing,
+     * then with variable arity, choosing the most specific applicable method.
+     * Type variables declared by the methods are inferred from the argument
+     * types. Results are cached per method name and argument types.
+     * 
+     * @param name
+     *            The method name
+     * @param argumentTypes
+     *            The argument types; a null element stands for a null
+     *            argument
+     * @return The method; null if no method is applicable
+     * @throws ReflectionException
+     *             If the call is ambiguous
+     */
+    default MethodInfo findBestMethod(final String name, final TypeInfo<?>... argumentTypes) {
+        return OverloadResolution.findBestMethod(this, name, argumentTypes);
+    }
+
     /**
      * Gets all declared methods
      * 
@@ -145,6 +353,21 @@ public interface TypeInfo<T extends Type> extends ElementInfo, HasTypeVariables
      */
     List<MethodInfo> getDeclaredMethods();
 
+    /**
+     * Gets the declared methods with the specified name; looked up in an
+     * index built on first use
+     * 
+     * @param name
+     *            The method name
+     * @return The declared methods with the specified name; empty if there
+     *         is none
+     */
+    default List<MethodInfo> getDeclaredMethodsByName(final String name) {
+        return Collections.unmodifiableList(getDeclaredMethods().stream()
+                .filter(i -> i.getName().equals(name))
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Equivalent to Class.isPrimitive()
      * 
@@ -317,32 +540,113 @@ public interface TypeInfo<T extends Type> extends ElementInfo, HasTypeVariables
         boolean isTypeVariableDefined(String typeVariableId);
 
         void defineTypeVariable(String typeVariableId);
+
+        /**
+         * Checks if the specified type variable has been defined; delegates to
+         * isTypeVariableDefined(String) with the type variable's id, so
+         * contexts that only implement the String methods see every type
+         * variable. Contexts should override this to key on
+         * TypeVariableInfo.getKey() instead of building the id.
+         * 
+         * @param typeVariable
+         *            The type variable
+         * @return true if the type variable has been defined; false otherwise
+         */
+        default boolean isTypeVariableDefined(final TypeVariableInfo typeVariable) {
+            return isTypeVariableDefined(typeVariable.getId());
+        }
+
+        /**
+         * Defines the specified type variable; delegates to
+         * defineTypeVariable(String) with the type variable's id. Contexts
+         * should override this to key on TypeVariableInfo.getKey() instead
+         * of building the id.
+         * 
+         * @param typeVariable
+         *            The type variable
+         */
+        default void defineTypeVariable(final TypeVariableInfo typeVariable) {
+            defineTypeVariable(typeVariable.getId());
+        }
     }
 
     /**
-     * Default implementation of TypeInfo.ToStringContext
+     * Default implementation of TypeInfo.ToStringContext. Type variables are
+     * recorded by TypeVariableInfo.getKey(), so rendering never builds their
+     * ids. The String methods remain for callers that still use ids: ids
+     * defined through them are seen by the TypeVariableInfo methods, and a
+     * subclass overriding them receives every type variable through them.
      * 
      * @author xerxes
      */
     public static class DefaultToStringContext implements ToStringContext {
-        private final Set<String> definedTypeVariables = new HashSet<String>();
+        private static final ClassValue<Boolean> OVERRIDES_STRING_METHODS = new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue(final Class<?> type) {
+                try {
+                    return type.getMethod("isTypeVariableDefined", String.class).getDeclaringClass() != DefaultToStringContext.class
+                            || type.getMethod("defineTypeVariable", String.class).getDeclaringClass() != DefaultToStringContext.class;
+                }
+                catch (NoSuchMethodException e) {
+                    throw new ReflectionException(e);
+                }
+            }
+        };
+
+        private final boolean overridesStringMethods = OVERRIDES_STRING_METHODS.get(getClass());
+        private final Map<Object, TypeVariableInfo> definedTypeVariables = new HashMap<Object, TypeVariableInfo>();
+        private final Set<String> definedTypeVariableIds = new HashSet<String>();
 
         @Override
         public boolean isImported(final String className) {
             return false;
         }
 
+        /**
+         * @deprecated Use isTypeVariableDefined(TypeVariableInfo), which does
+         *             not build the type variable's id
+         */
         @Override
+        @Deprecated
         public boolean isTypeVariableDefined(final String typeVariableId) {
-            if (definedTypeVariables.contains(typeVariableId)) {
+            if (definedTypeVariableIds.contains(typeVariableId)) {
                 return true;
             }
-            return false;
+            return definedTypeVariables.values().stream().anyMatch(i -> i.getId().equals(typeVariableId));
         }
 
+        /**
+         * @deprecated Use defineTypeVariable(TypeVariableInfo), which does not
+         *             build the type variable's id
+         */
         @Override
+        @Deprecated
         public void defineTypeVariable(final String typeVariableId) {
-            definedTypeVariables.add(typeVariableId);
+            definedTypeVariableIds.add(typeVariableId);
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public boolean isTypeVariableDefined(final TypeVariableInfo typeVariable) {
+            if (overridesStringMethods) {
+                return isTypeVariableDefined(typeVariable.getId());
+            }
+            if (definedTypeVariables.containsKey(typeVariable.getKey())) {
+                return true;
+            }
+            // Only contexts also used through the String methods build ids
+            return !definedTypeVariableIds.isEmpty() && definedTypeVariableIds.contains(typeVariable.getId());
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void defineTypeVariable(final TypeVariableInfo typeVariable) {
+            if (overridesStringMethods) {
+                defineTypeVariable(typeVariable.getId());
+            }
+            else {
+                definedTypeVariables.putIfAbsent(typeVariable.getKey(), typeVariable);
+            }
         }
     }
 }
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+/**
+ * Holds the ReflectionCacheProvider selected at startup and routes all
+ * ClassInfo lookups and TypeInfo creation sites through it.
+ *
+ * @author xerxes
+ */
+final class TypeInterner {
+    private static final ReflectionCacheProvider PROVIDER = loadProvider();
+
+    static ReflectionCacheProvider getProvider() {
+        return PROVIDER;
+    }
+
+    /**
+     * Gets the canonical instance structurally equal to the specified
+     * candidate
+     *
+     * @param <T>
+     *            The TypeInfo type
+     * @param candidate
+     *            The newly created TypeInfo object
+     * @return The canonical instance
+     */
+    static <T extends AbstractTypeInfo<?>> T intern(final T candidate) {
+        return PROVIDER.intern(candidate);
+    }
+
+    /**
+     * Gets the ClassInfo object for the specified class
+     *
+     * @param type
+     *            The class
+     * @param factory
+     *            Creates the ClassInfo object if it is not cached
+     * @return The ClassInfo object
+     */
+    static ClassInfo getClassInfo(final Class<?> type, final Function<Class<?>, ClassInfo> factory) {
+        return PROVIDER.getClassInfo(type, factory);
+    }
+
+    static ReflectionCacheProvider loadProvider() {
+        final String name = System.getProperty(ReflectionCacheProvider.PROVIDER_PROPERTY);
+        if (name == null || name.isEmpty()) {
+            final Iterator<ReflectionCacheProvider> providers = ServiceLoader.load(
+                    ReflectionCacheProvider.class,
+                    TypeInterner.class.getClassLoader()
+            ).iterator();
+            if (providers.hasNext()) {
+                return providers.next();
+            }
+            if (Integer.getInteger(ReflectionCacheProvider.MAXIMUM_SIZE_PROPERTY, 0) > 0) {
+                return new BoundedReflectionCacheProvider();
+            }
+            return new WeakReflectionCacheProvider();
+        }
+        return loadProvider(name);
+    }
+
+    static ReflectionCacheProvider loadProvider(final String name) {
+        if ("weak".equals(name)) {
+            return new WeakReflectionCacheProvider();
+        }
+        else if ("unbounded".equals(name)) {
+            return new UnboundedReflectionCacheProvider();
+        }
+        else if ("bounded".equals(name)) {
+            return new BoundedReflectionCacheProvider();
+        }
+        try {
+            return Class.forName(name, true, TypeInterner.class.getClassLoader())
+                    .asSubclass(ReflectionCacheProvider.class)
+                    .newInstance();
+        }
+        catch (ClassNotFoundException | ClassCastException | InstantiationException | IllegalAccessException e) {
+            throw new ReflectionException(String.format("Invalid cache provider %s: %s", name, e));
+        }
+    }
+
+    private TypeInterner() {
+        // Prevent instantiation
+    }
+}
@@ -16,15 +16,30 @@
 package com.github.zerkseez.reflection;
 
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericDeclaration;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class TypeVariableInfo extends AbstractTypeInfo<TypeVariable<?>> {
+    /**
+     * Gets the canonical TypeVariableInfo object for the specified type
+     * variable
+     * 
+     * @param type
+     *            The type variable
+     * @return The canonical TypeVariableInfo object without value
+     */
+    public static TypeVariableInfo of(final TypeVariable<?> type) {
+        return TypeInterner.intern(new TypeVariableInfo(type));
+    }
+
     private final TypeInfo<?> value;
 
     public TypeVariableInfo(final TypeVariable<?> type) {
@@ -34,13 +49,26 @@ public class TypeVariableInfo extends AbstractTypeInfo<TypeVariable<?>> {
     private TypeVariableInfo(final TypeVariable<?> type, final TypeInfo<?> value) {
         super(type);
         this.value = value;
+        precomputeHashCode();
     }
 
     public TypeVariableInfo withValue(final TypeInfo<?> value) {
         if (this == value) {
             return this;
         }
-        return new TypeVariableInfo(getType(), value);
+        return TypeInterner.intern(new TypeVariableInfo(getType(), value));
+    }
+
+    /**
+     * Checks if this and the specified object stand for the same type
+     * variable, whatever their values
+     * 
+     * @param other
+     *            The other type variable
+     * @return true if both stand for the same type variable; false otherwise
+     */
+    public boolean isSameTypeVariable(final TypeVariableInfo other) {
+        return getKey().equals(other.getKey());
     }
 
     protected ElementInfo getDeclaringElement() {
@@ -50,16 +78,48 @@ public class TypeVariableInfo extends AbstractTypeInfo<TypeVariable<?>> {
         }
         else if (declaringObject instanceof Method) {
             final Method method = (Method) declaringObject;
-            return new MethodInfo(Reflection.getTypeInfo(method.getDeclaringClass()), method);
+            return ClassInfo.of(method.getDeclaringClass()).getMemberInfo(method);
+        }
+        else if (declaringObject instanceof Constructor) {
+            final Constructor<?> constructor = (Constructor<?>) declaringObject;
+            return ClassInfo.of(constructor.getDeclaringClass()).getMemberInfo(constructor);
         }
         throw new ReflectionException(String.format(
                 "%s is not supported as declaring element", declaringObject.getClass()
         ));
     }
 
+    /**
+     * Gets the identity of the type variable this object stands for, whatever
+     * its value. Keys are cheap to hash and compare, unlike getId(), which
+     * builds a string from the declaring element.
+     * 
+     * @return The identity key
+     */
+    public Object getKey() {
+        return getType();
+    }
+
     @Override
     protected String doGetId() {
-        return String.format("%s|TypeVariable:%s", getDeclaringElement().getId(), getTypeVariableName());
+        final GenericDeclaration declaration = getType().getGenericDeclaration();
+        final String declarationId;
+        if (declaration instanceof Class) {
+            declarationId = ClassInfo.of((Class<?>) declaration).getId();
+        }
+        else if (declaration instanceof Method) {
+            final Method method = (Method) declaration;
+            declarationId = String.format("%s|Method:%s", ClassInfo.of(method.getDeclaringClass()).getId(), method.getName());
+        }
+        else if (declaration instanceof Constructor) {
+            declarationId = String.format("%s|Constructor", ClassInfo.of(((Constructor<?>) declaration).getDeclaringClass()).getId());
+        }
+        else {
+            throw new ReflectionException(String.format(
+                    "%s is not supported as declaring element", declaration.getClass()
+            ));
+        }
+        return String.format("%s|TypeVariable:%s", declarationId, getTypeVariableName());
     }
 
     @Override
@@ -235,8 +295,8 @@ public class TypeVariableInfo extends AbstractTypeInfo<TypeVariable<?>> {
         if (getTypeVariableValue() == null) {
             final StringBuilder sb = new StringBuilder();
             sb.append(getTypeVariableName());
-            if (!context.isTypeVariableDefined(getId())) {
-                context.defineTypeVariable(getId());
+            if (!context.isTypeVariableDefined(this)) {
+                context.defineTypeVariable(this);
                 sb.append(renderSuperAndExtendsBounds(context, includeTypeVariables));
             }
             return sb.toString();
@@ -246,15 +306,32 @@ public class TypeVariableInfo extends AbstractTypeInfo<TypeVariable<?>> {
 
     @Override
     public TypeInfo<?> substituteTypeVariableValues(final List<TypeVariableInfo> typeVariables) {
-        for (TypeVariableInfo typeVariable : typeVariables) {
-            if (typeVariable.getId().equals(getId())) {
-                return typeVariable.getTypeVariableValue();
-            }
+        return substitute(TypeBindings.unmemoized(typeVariables));
+    }
+
+    @Override
+    TypeInfo<?> substitute(final TypeBindings bindings) {
+        final TypeVariableInfo binding = bindings.get(this);
+        if (binding != null) {
+            return binding.getTypeVariableValue();
         }
         if (getTypeVariableValue() == null) {
             return this;
         }
-        return getTypeVariableValue().substituteTypeVariableValues(typeVariables);
+        return bindings.apply(getTypeVariableValue());
+    }
+
+    @Override
+    Set<Object> doGetSubstitutionKeys() {
+        if (getTypeVariableValue() == null) {
+            return Collections.singleton(getKey());
+        }
+        return Collections.singleton(TypeBindings.ALWAYS_SUBSTITUTED);
+    }
+
+    @Override
+    Object[] getSubstitutes() {
+        return new Object[] { value };
     }
 
     @Override
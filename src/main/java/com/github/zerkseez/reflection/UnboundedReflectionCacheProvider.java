@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache provider for long-lived servers with a fixed set of classes. Interned
+ * types are strongly referenced and never evicted, so a type resolved once is
+ * never resolved again.
+ *
+ * @author xerxes
+ */
+public final class UnboundedReflectionCacheProvider implements ReflectionCacheProvider {
+    private final ConcurrentMap<TypeInfo<?>, TypeInfo<?>> table = new ConcurrentHashMap<TypeInfo<?>, TypeInfo<?>>();
+
+    @Override
+    public ClassInfo getClassInfo(final Class<?> type, final Function<Class<?>, ClassInfo> factory) {
+        return ClassInfo.getRegistered(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends TypeInfo<?>> T intern(final T candidate) {
+        final TypeInfo<?> existing = table.putIfAbsent(candidate, candidate);
+        return (existing == null) ? candidate : (T) existing;
+    }
+
+    @Override
+    public void invalidate(final Predicate<? super TypeInfo<?>> predicate) {
+        for (Class<?> type : ClassInfo.getRegisteredClasses()) {
+            if (predicate.test(ClassInfo.getRegistered(type))) {
+                ClassInfo.unregister(type);
+            }
+        }
+        table.values().removeIf(predicate);
+    }
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Default cache provider, suited for plugin hosts. ClassInfo objects live as
+ * long as their classes, and other types are interned in a weak table, so
+ * structurally equal types resolve to one canonical instance for as long as
+ * that instance is reachable. Nothing here keeps a class loader alive.
+ *
+ * @author xerxes
+ */
+public final class WeakReflectionCacheProvider implements ReflectionCacheProvider {
+    private final ReferenceQueue<TypeInfo<?>> queue = new ReferenceQueue<TypeInfo<?>>();
+    private final ConcurrentMap<InternedReference, InternedReference> table =
+            new ConcurrentHashMap<InternedReference, InternedReference>();
+
+    @Override
+    public ClassInfo getClassInfo(final Class<?> type, final Function<Class<?>, ClassInfo> factory) {
+        return ClassInfo.getRegistered(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends TypeInfo<?>> T intern(final T candidate) {
+        expungeStaleEntries();
+        final InternedReference reference = new InternedReference(candidate, queue);
+        while (true) {
+            final InternedReference existing = table.putIfAbsent(reference, reference);
+            if (existing == null) {
+                return candidate;
+            }
+            final TypeInfo<?> canonical = existing.get();
+            if (canonical != null) {
+                return (T) canonical;
+            }
+            table.remove(existing, existing);
+        }
+    }
+
+    @Override
+    public void invalidate(final Predicate<? super TypeInfo<?>> predicate) {
+        for (Class<?> type : ClassInfo.getRegisteredClasses()) {
+            if (predicate.test(ClassInfo.getRegistered(type))) {
+                ClassInfo.unregister(type);
+            }
+        }
+        for (InternedReference reference : table.keySet()) {
+            final TypeInfo<?> typeInfo = reference.get();
+            if (typeInfo != null && predicate.test(typeInfo)) {
+                table.remove(reference, reference);
+            }
+        }
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends TypeInfo<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            table.remove(reference, reference);
+        }
+    }
+
+    private static final class InternedReference extends WeakReference<TypeInfo<?>> {
+        private final int hash;
+
+        InternedReference(final TypeInfo<?> typeInfo, final ReferenceQueue<TypeInfo<?>> queue) {
+            super(typeInfo, queue);
+            this.hash = typeInfo.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InternedReference) || hash != obj.hashCode()) {
+                return false;
+            }
+            final TypeInfo<?> a = get();
+            final TypeInfo<?> b = ((InternedReference) obj).get();
+            return a != null && b != null && a.equals(b);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent map from weakly referenced TypeInfo keys, compared by equals(),
+ * to values that must not refer back to their keys. Used for results that are
+ * memoized on a long-lived type but keyed by other types, so that the memo
+ * does not keep the class loaders of those other types alive.
+ *
+ * @author xerxes
+ *
+ * @param <V>
+ *            The value type
+ */
+final class WeakTypeMap<V> {
+    private final ReferenceQueue<TypeInfo<?>> queue = new ReferenceQueue<TypeInfo<?>>();
+    private final ConcurrentMap<Key, V> values = new ConcurrentHashMap<Key, V>();
+
+    V get(final TypeInfo<?> key) {
+        return values.get(new LookupKey(key));
+    }
+
+    /**
+     * Associates the specified value with the specified key unless a value
+     * is already present
+     * 
+     * @param key
+     *            The key
+     * @param value
+     *            The value
+     * @return The value now associated with the key
+     */
+    V putIfAbsent(final TypeInfo<?> key, final V value) {
+        expungeStaleEntries();
+        final V existing = values.putIfAbsent(new WeakKey(key, queue), value);
+        return (existing == null) ? value : existing;
+    }
+
+    int size() {
+        expungeStaleEntries();
+        return values.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends TypeInfo<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            values.remove(reference);
+        }
+    }
+
+    private interface Key {
+        TypeInfo<?> getTypeInfo();
+
+        static boolean equals(final Key key, final Object obj) {
+            if (key == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key) || key.hashCode() != obj.hashCode()) {
+                return false;
+            }
+            final TypeInfo<?> a = key.getTypeInfo();
+            final TypeInfo<?> b = ((Key) obj).getTypeInfo();
+            return a != null && b != null && a.equals(b);
+        }
+    }
+
+    private static final class WeakKey extends WeakReference<TypeInfo<?>> implements Key {
+        private final int hash;
+
+        WeakKey(final TypeInfo<?> typeInfo, final ReferenceQueue<TypeInfo<?>> queue) {
+            super(typeInfo, queue);
+            this.hash = typeInfo.hashCode();
+        }
+
+        @Override
+        public TypeInfo<?> getTypeInfo() {
+            return get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return Key.equals(this, obj);
+        }
+    }
+
+    private static final class LookupKey implements Key {
+        private final TypeInfo<?> typeInfo;
+
+        LookupKey(final TypeInfo<?> typeInfo) {
+            this.typeInfo = typeInfo;
+        }
+
+        @Override
+        public TypeInfo<?> getTypeInfo() {
+            return typeInfo;
+        }
+
+        @Override
+        public int hashCode() {
+            return typeInfo.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return Key.equals(this, obj);
+        }
+    }
+}
@@ -19,7 +19,9 @@ import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.WildcardType;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class WildcardTypeInfo extends AbstractTypeInfo<WildcardType> {
@@ -38,6 +40,7 @@ public class WildcardTypeInfo extends AbstractTypeInfo<WildcardType> {
         super(type);
         this.extendsBoundsSubtitutes = extendsBoundsSubtitutes;
         this.superBoundsSubtitutes = superBoundsSubtitutes;
+        precomputeHashCode();
     }
 
     @Override
@@ -255,14 +258,36 @@ public class WildcardTypeInfo extends AbstractTypeInfo<WildcardType> {
 
     @Override
     public TypeInfo<?> substituteTypeVariableValues(final List<TypeVariableInfo> typeVariables) {
-        return new WildcardTypeInfo(
+        return substitute(TypeBindings.unmemoized(typeVariables));
+    }
+
+    @Override
+    TypeInfo<?> doSubstitute(final TypeBindings bindings) {
+        return TypeInterner.intern(new WildcardTypeInfo(
                 this.getType(),
                 getExtendsBounds().stream()
-                        .map(i -> i.substituteTypeVariableValues(typeVariables))
+                        .map(i -> bindings.apply(i))
                         .collect(Collectors.toList()),
                 getSuperBounds().stream()
-                        .map(i -> i.substituteTypeVariableValues(typeVariables))
-                        .collect(Collectors.toList()));
+                        .map(i -> bindings.apply(i))
+                        .collect(Collectors.toList())));
+    }
+
+    @Override
+    Set<Object> doGetSubstitutionKeys() {
+        final Set<Object> result = new HashSet<Object>();
+        for (TypeInfo<?> bound : getExtendsBounds()) {
+            result.addAll(TypeBindings.getSubstitutionKeys(bound));
+        }
+        for (TypeInfo<?> bound : getSuperBounds()) {
+            result.addAll(TypeBindings.getSubstitutionKeys(bound));
+        }
+        return result;
+    }
+
+    @Override
+    Object[] getSubstitutes() {
+        return new Object[] { extendsBoundsSubtitutes, superBoundsSubtitutes };
     }
 
     @Override
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AssignabilityTest {
+    @SuppressWarnings("rawtypes")
+    public static class Slots<T extends Number, U extends T> {
+        public List<? extends Number> listOfExtendsNumber;
+        public List<? super Integer> listOfSuperInteger;
+        public List<?> listOfAny;
+        public List<Number> listOfNumber;
+        public List<Integer> listOfInteger;
+        public List<Object> listOfObject;
+        public ArrayList<Integer> arrayListOfInteger;
+        public ArrayList<String> arrayListOfString;
+        public ArrayList rawArrayList;
+        public List rawList;
+        public Map<String, List<Integer>> mapOfListOfInteger;
+        public Map<String, ? extends List<Integer>> mapOfExtendsListOfInteger;
+        public HashMap<String, ArrayList<Integer>> hashMapOfArrayListOfInteger;
+        public List<Integer>[] arrayOfListOfInteger;
+        public List<? extends Number>[] arrayOfListOfExtendsNumber;
+        public Object[] arrayOfObject;
+        public T t;
+        public U u;
+        public List<T> listOfT;
+        public List<? extends T> listOfExtendsT;
+        public List<U> listOfU;
+    }
+
+    private static TypeInfo<?> slot(final String name) throws Exception {
+        return Reflection.getTypeInfo(Slots.class.getField(name).getGenericType());
+    }
+
+    private static void assertAssignable(final String to, final String from) throws Exception {
+        Assert.assertTrue(String.format("%s = %s", to, from), slot(to).isAssignableFrom(slot(from)));
+    }
+
+    private static void assertNotAssignable(final String to, final String from) throws Exception {
+        Assert.assertFalse(String.format("%s = %s", to, from), slot(to).isAssignableFrom(slot(from)));
+    }
+
+    @Test
+    public void testWildcardContainment() throws Exception {
+        assertAssignable("listOfExtendsNumber", "arrayListOfInteger");
+        assertAssignable("listOfExtendsNumber", "listOfNumber");
+        assertNotAssignable("listOfExtendsNumber", "arrayListOfString");
+        assertNotAssignable("listOfExtendsNumber", "listOfObject");
+        assertAssignable("listOfSuperInteger", "listOfNumber");
+        assertAssignable("listOfSuperInteger", "listOfObject");
+        assertNotAssignable("listOfSuperInteger", "arrayListOfString");
+        assertAssignable("listOfAny", "listOfSuperInteger");
+        assertAssignable("listOfAny", "arrayListOfString");
+        assertNotAssignable("listOfExtendsNumber", "listOfAny");
+        assertNotAssignable("listOfSuperInteger", "listOfExtendsNumber");
+    }
+
+    @Test
+    public void testTypeArgumentsAreInvariant() throws Exception {
+        assertAssignable("listOfInteger", "arrayListOfInteger");
+        assertNotAssignable("listOfNumber", "listOfInteger");
+        assertNotAssignable("mapOfListOfInteger", "hashMapOfArrayListOfInteger");
+        assertAssignable("mapOfExtendsListOfInteger", "hashMapOfArrayListOfInteger");
+    }
+
+    @Test
+    public void testRawTypes() throws Exception {
+        assertAssignable("rawList", "arrayListOfString");
+        assertAssignable("rawList", "rawArrayList");
+        assertNotAssignable("listOfInteger", "rawArrayList");
+        Assert.assertTrue(Reflection.getTypeInfo(Object.class).isAssignableFrom(slot("listOfInteger")));
+    }
+
+    @Test
+    public void testArrays() throws Exception {
+        assertAssignable("arrayOfListOfExtendsNumber", "arrayOfListOfInteger");
+        assertAssignable("arrayOfObject", "arrayOfListOfInteger");
+        assertNotAssignable("arrayOfListOfInteger", "arrayOfObject");
+        Assert.assertTrue(Reflection.getTypeInfo(Object[].class).isAssignableFrom(Reflection.getTypeInfo(String[][].class)));
+        Assert.assertTrue(Reflection.getTypeInfo(Cloneable.class).isAssignableFrom(slot("arrayOfListOfInteger")));
+        Assert.assertFalse(Reflection.getTypeInfo(Object[].class).isAssignableFrom(Reflection.getTypeInfo(int[].class)));
+    }
+
+    @Test
+    public void testTypeVariables() throws Exception {
+        Assert.assertTrue(Reflection.getTypeInfo(Number.class).isAssignableFrom(slot("t")));
+        Assert.assertTrue(Reflection.getTypeInfo(Number.class).isAssignableFrom(slot("u")));
+        Assert.assertFalse(slot("t").isAssignableFrom(Reflection.getTypeInfo(Integer.class)));
+        assertAssignable("t", "u");
+        assertNotAssignable("u", "t");
+        assertAssignable("listOfExtendsNumber", "listOfT");
+        assertAssignable("listOfExtendsT", "listOfU");
+        assertNotAssignable("listOfT", "listOfU");
+    }
+
+    @Test
+    public void testPrimitives() {
+        Assert.assertTrue(Reflection.getTypeInfo(long.class).isAssignableFrom(Reflection.getTypeInfo(int.class)));
+        Assert.assertTrue(Reflection.getTypeInfo(double.class).isAssignableFrom(Reflection.getTypeInfo(byte.class)));
+        Assert.assertTrue(Reflection.getTypeInfo(int.class).isAssignableFrom(Reflection.getTypeInfo(char.class)));
+        Assert.assertFalse(Reflection.getTypeInfo(int.class).isAssignableFrom(Reflection.getTypeInfo(long.class)));
+        Assert.assertFalse(Reflection.getTypeInfo(short.class).isAssignableFrom(Reflection.getTypeInfo(char.class)));
+        Assert.assertFalse(Reflection.getTypeInfo(Integer.class).isAssignableFrom(Reflection.getTypeInfo(int.class)));
+    }
+
+    @Test
+    public void testResultsAreMemoized() throws Exception {
+        final TypeInfo<?> target = slot("listOfExtendsNumber");
+        final TypeInfo<?> source = slot("arrayListOfInteger");
+        Assert.assertTrue(target.isAssignableFrom(source));
+        final WeakTypeMap<Boolean> results = new WeakTypeMap<Boolean>();
+        Assert.assertNull(results.get(source));
+        Assert.assertFalse(results.putIfAbsent(source, Boolean.FALSE));
+        Assert.assertFalse(results.putIfAbsent(source, Boolean.TRUE));
+        Assert.assertEquals(Boolean.FALSE, results.get(slot("arrayListOfInteger")));
+        Assert.assertEquals(1, results.size());
+    }
+}
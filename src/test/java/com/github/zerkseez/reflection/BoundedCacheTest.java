@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BoundedCacheTest {
+    @Test
+    public void testSizeIsBounded() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(10);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(String.valueOf(i), cache.get(i, String::valueOf));
+            Assert.assertTrue(cache.size() <= 10);
+        }
+    }
+
+    @Test
+    public void testFrequentEntriesSurviveScan() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(10);
+        final AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0) {
+                for (int j = 0; j < 5; j++) {
+                    cache.get(j, k -> {
+                        loads.incrementAndGet();
+                        return String.valueOf(k);
+                    });
+                }
+            }
+            cache.get(1000 + i, String::valueOf);
+        }
+        Assert.assertEquals(5, loads.get());
+    }
+
+    @Test
+    public void testEvictedEntriesAreRebuilt() {
+        final BoundedCache<Integer, Object> cache = new BoundedCache<Integer, Object>(1);
+        final Object first = cache.get(1, k -> new Object());
+        Assert.assertSame(first, cache.get(1, k -> new Object()));
+        for (int i = 0; i < 5; i++) {
+            cache.get(2, k -> new Object());
+        }
+        final Object rebuilt = cache.get(1, k -> new Object());
+        Assert.assertNotNull(rebuilt);
+        Assert.assertNotSame(first, rebuilt);
+    }
+
+    @Test
+    public void testRecentlyLoadedEntryIsNotRebuilt() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(10);
+        for (int i = 0; i < 100; i++) {
+            for (int j = 0; j < 10; j++) {
+                cache.get(j, String::valueOf);
+            }
+        }
+        final AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.get(1000, k -> {
+                loads.incrementAndGet();
+                return String.valueOf(k);
+            });
+        }
+        Assert.assertEquals(1, loads.get());
+        Assert.assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        final BoundedCache<Integer, Object> cache = new BoundedCache<Integer, Object>(10);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<Object> first = executor.submit(() -> cache.get(1, k -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return new Object();
+            }));
+            Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+            final Future<Object> second = executor.submit(() -> cache.get(1, k -> {
+                loads.incrementAndGet();
+                return new Object();
+            }));
+            Thread.sleep(50);
+            release.countDown();
+            Assert.assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(1, loads.get());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRemoveIf() {
+        final BoundedCache<Integer, String> cache = new BoundedCache<Integer, String>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.get(i, String::valueOf);
+        }
+        cache.removeIf(i -> Integer.parseInt(i) % 2 == 0);
+        Assert.assertEquals(5, cache.size());
+        final AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            cache.get(i, k -> {
+                loads.incrementAndGet();
+                return String.valueOf(k);
+            });
+        }
+        Assert.assertEquals(5, loads.get());
+        Assert.assertEquals(10, cache.size());
+    }
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheStatisticsTest {
+    public static class First {
+        public static class Kind {
+        }
+    }
+
+    public static class Second {
+        public static class Kind {
+        }
+    }
+
+    @Test
+    public void testRecordsOnlyWhenEnabled() {
+        Assert.assertEquals(Boolean.getBoolean(CacheStatistics.ENABLED_PROPERTY), CacheStatistics.isEnabled());
+        final ClassInfo typeInfo = new ClassInfo(String.class);
+        typeInfo.getPublicMethods();
+        typeInfo.getPublicMethods();
+        boolean recorded = false;
+        for (CacheStatistics statistics : CacheStatistics.getAll()) {
+            if (ClassInfo.class.getName().equals(statistics.getKind()) && "publicMethods".equals(statistics.getProperty())) {
+                recorded = statistics.getMissCount() > 0 && statistics.getHitCount() > 0;
+            }
+        }
+        Assert.assertEquals(CacheStatistics.isEnabled(), recorded);
+    }
+
+    @Test
+    public void testCacheRecordsOnlyWhenEnabled() {
+        final Cache<Object> cache = new Cache<Object>(this, "recordedProperty", () -> new Object());
+        cache.get();
+        cache.get();
+        boolean recorded = false;
+        for (CacheStatistics statistics : CacheStatistics.getAll()) {
+            if (CacheStatisticsTest.class.getName().equals(statistics.getKind())
+                    && "recordedProperty".equals(statistics.getProperty())) {
+                recorded = statistics.getMissCount() == 1 && statistics.getHitCount() == 1;
+            }
+        }
+        Assert.assertEquals(CacheStatistics.isEnabled(), recorded);
+    }
+
+    @Test
+    public void testKindsWithSameSimpleNameAreSeparate() {
+        final CacheStatistics first = CacheStatistics.of(First.Kind.class, "testProperty");
+        final CacheStatistics second = CacheStatistics.of(Second.Kind.class, "testProperty");
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(First.Kind.class.getName(), first.getKind());
+        Assert.assertEquals(Second.Kind.class.getName(), second.getKind());
+    }
+
+    @Test
+    public void testStatisticsAreAggregatedPerKindAndProperty() {
+        final CacheStatistics statistics = CacheStatistics.of(CacheStatisticsTest.class, "testProperty");
+        Assert.assertSame(statistics, CacheStatistics.of(CacheStatisticsTest.class, "testProperty"));
+        Assert.assertEquals(CacheStatisticsTest.class.getName(), statistics.getKind());
+
+        statistics.recordMiss(100);
+        statistics.recordMiss(300);
+        statistics.recordHit();
+        Assert.assertEquals(1, statistics.getHitCount());
+        Assert.assertEquals(2, statistics.getMissCount());
+        Assert.assertEquals(400, statistics.getTotalComputeNanos());
+        Assert.assertEquals(300, statistics.getMaxComputeNanos());
+        Assert.assertTrue(CacheStatistics.getAll().contains(statistics));
+
+        CacheStatistics.reset();
+        Assert.assertEquals(0, statistics.getHitCount());
+        Assert.assertEquals(0, statistics.getMissCount());
+        Assert.assertEquals(0, statistics.getMaxComputeNanos());
+    }
+}
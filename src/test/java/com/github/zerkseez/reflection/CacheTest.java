@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CacheTest {
+    @Test
+    public void testRacingThreadsSeeOneValue() throws Exception {
+        final Cache<Object> cache = new Cache<Object>(this, "value", () -> new Object());
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Object>> results = new ArrayList<Future<Object>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> result : results) {
+                Assert.assertSame(cache.get(), result.get());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNullValueIsCached() {
+        final int[] calls = new int[1];
+        final Cache<Object> cache = new Cache<Object>(this, "value", () -> {
+            calls[0]++;
+            return null;
+        });
+        Assert.assertNull(cache.get());
+        Assert.assertNull(cache.get());
+        Assert.assertEquals(1, calls[0]);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testLockConstructorStillWorks() {
+        final Object value = new Object();
+        final Cache<Object> cache = new Cache<Object>(this, () -> value);
+        Assert.assertSame(value, cache.get());
+        Assert.assertSame(value, cache.get());
+    }
+
+    @Test
+    public void testSlowPropertyDoesNotBlockOtherProperties() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ClassInfo typeInfo = new ClassInfo(String.class) {
+            @Override
+            protected List<MethodInfo> doGetPublicMethods() {
+                entered.countDown();
+                try {
+                    release.await();
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.doGetPublicMethods();
+            }
+        };
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<List<MethodInfo>> publicMethods = executor.submit(() -> typeInfo.getPublicMethods());
+            entered.await();
+            final Future<String> simpleName = executor.submit(() -> typeInfo.getSimpleName());
+            Assert.assertEquals("String", simpleName.get(5, TimeUnit.SECONDS));
+            release.countDown();
+            Assert.assertFalse(publicMethods.get(5, TimeUnit.SECONDS).isEmpty());
+        }
+        finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+/**
+ * Compares ClassInfo.of against the Hashtable-backed registry it replaced.
+ * Run with the test classpath; main() repeats the comparison at 1, 8 and 32
+ * threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassInfoRegistryBenchmark {
+    private static final Class<?>[] TYPES = {
+            Object.class, String.class, Integer.class, List.class, ArrayList.class, Map.class, HashMap.class,
+            SimpleClass.class, SubClass.class, GenericClass.class, GenericSubSubClass.class
+    };
+
+    private static final Map<Class<?>, ClassInfo> HASHTABLE = new Hashtable<Class<?>, ClassInfo>();
+
+    private static ClassInfo hashtableOf(final Class<?> type) {
+        ClassInfo classInfo = HASHTABLE.get(type);
+        if (classInfo == null) {
+            classInfo = new ClassInfo(type);
+            HASHTABLE.put(type, classInfo);
+        }
+        return classInfo;
+    }
+
+    @Benchmark
+    public void hashtable(final Blackhole blackhole) {
+        for (Class<?> type : TYPES) {
+            blackhole.consume(hashtableOf(type));
+        }
+    }
+
+    @Benchmark
+    public void classValue(final Blackhole blackhole) {
+        for (Class<?> type : TYPES) {
+            blackhole.consume(ClassInfo.of(type));
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        for (int threads : new int[] { 1, 8, 32 }) {
+            new Runner(new OptionsBuilder()
+                    .include(ClassInfoRegistryBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.ref.WeakReference;
+import java.net.URLClassLoader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+
+public class ClassLoaderUnloadingTest {
+    @Test
+    public void testThrowawayClassLoaderIsCollected() throws Exception {
+        final WeakReference<ClassLoader> loaderReference = reflectInThrowawayClassLoader();
+        for (int i = 0; i < 50 && loaderReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        Assert.assertNull("Class loader is still reachable", loaderReference.get());
+    }
+
+    private WeakReference<ClassLoader> reflectInThrowawayClassLoader() throws Exception {
+        try (URLClassLoader loader = ThrowawayClassLoaders.create()) {
+            final Class<?> type = loader.loadClass(GenericSubSubClass.class.getName());
+            Assert.assertNotSame(GenericSubSubClass.class, type);
+
+            final TypeInfo<?> typeInfo = Reflection.getTypeInfo(type);
+            typeInfo.toString();
+            typeInfo.getPublicFields().forEach(i -> i.toString());
+            typeInfo.getPublicConstructors().forEach(i -> i.toString());
+            typeInfo.getPublicMethods().forEach(i -> i.toString());
+            for (TypeInfo<?> t = typeInfo; t != null; t = t.getSuperClass()) {
+                t.toString();
+            }
+            Assert.assertTrue(Reflection.getTypeInfo(Object.class).isAssignableFrom(typeInfo));
+
+            Assert.assertTrue(ClassInfo.getRegisteredClasses(loader).contains(type));
+            Assert.assertTrue(ClassInfo.getRegisteredClasses(loader).contains(type.getSuperclass()));
+            return new WeakReference<ClassLoader>(loader);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Type;
+import java.net.URLClassLoader;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class InvalidationTest {
+    @Test
+    public void testInvalidateClassLoader() throws Exception {
+        try (URLClassLoader loader = ThrowawayClassLoaders.create()) {
+            final Class<?> type = loader.loadClass(GenericSubSubClass.class.getName());
+            final TypeInfo<?> typeInfo = Reflection.getTypeInfo(type);
+            final TypeInfo<?> superClass = typeInfo.getSuperClass();
+            typeInfo.getPublicMethods().forEach(i -> i.toString());
+            final TypeInfo<?> unrelated = Reflection.getTypeInfo(Integer.class);
+            Assert.assertTrue(ClassInfo.getRegisteredClasses(loader).contains(type));
+
+            Reflection.invalidate(loader);
+            Assert.assertTrue(ClassInfo.getRegisteredClasses(loader).isEmpty());
+            Assert.assertNotSame(typeInfo, Reflection.getTypeInfo(type));
+            Assert.assertNotSame(superClass, Reflection.getTypeInfo(type.getGenericSuperclass()));
+            Assert.assertSame(unrelated, Reflection.getTypeInfo(Integer.class));
+        }
+    }
+
+    @Test
+    public void testInvalidateClassDropsDependents() throws Exception {
+        try (URLClassLoader loader = ThrowawayClassLoaders.create()) {
+            final Class<?> simpleClass = loader.loadClass(SimpleClass.class.getName());
+            final Class<?> subClass = loader.loadClass(SubClass.class.getName());
+            final TypeInfo<?> subClassInfo = Reflection.getTypeInfo(subClass);
+            final TypeInfo<?> simpleClassInfo = subClassInfo.getSuperClass();
+            final MethodInfo inheritedMethod = subClassInfo.getPublicMethods().stream()
+                    .filter(i -> i.getExecutable().getDeclaringClass() == simpleClass)
+                    .findFirst()
+                    .get();
+            final TypeInfo<?> unrelated = Reflection.getTypeInfo(Integer.class);
+            final MethodInfo unrelatedMethod = unrelated.getPublicMethods().get(0);
+
+            Reflection.invalidate(simpleClass);
+            Assert.assertNotSame(simpleClassInfo, Reflection.getTypeInfo(simpleClass));
+            Assert.assertSame(subClassInfo, Reflection.getTypeInfo(subClass));
+            Assert.assertNotSame(simpleClassInfo, subClassInfo.getSuperClass());
+            Assert.assertSame(Reflection.getTypeInfo(simpleClass), subClassInfo.getSuperClass());
+            Assert.assertFalse(subClassInfo.getPublicMethods().stream().anyMatch(i -> i == inheritedMethod));
+            Assert.assertSame(unrelatedMethod, unrelated.getPublicMethods().get(0));
+        }
+    }
+
+    @Test
+    public void testInvalidateClassDropsParameterizedTypes() throws Exception {
+        try (URLClassLoader loader = ThrowawayClassLoaders.create()) {
+            final Class<?> genericClass = loader.loadClass(GenericClass.class.getName());
+            final Type parameterizedType = loader.loadClass(GenericSubSubClass.class.getName())
+                    .getSuperclass()
+                    .getGenericSuperclass();
+            final TypeInfo<?> typeInfo = Reflection.getTypeInfo(parameterizedType);
+            Assert.assertSame(genericClass, typeInfo.getErasedClass());
+
+            Reflection.invalidate(genericClass);
+            Assert.assertNotSame(typeInfo, Reflection.getTypeInfo(parameterizedType));
+        }
+    }
+}
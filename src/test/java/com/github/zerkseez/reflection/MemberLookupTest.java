@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+
+public class MemberLookupTest {
+    public static class StringComparable implements Comparable<String> {
+        @Override
+        public int compareTo(final String o) {
+            return 0;
+        }
+    }
+
+    @Test
+    public void testGetPublicField() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SimpleClass.class);
+        final FieldInfo field = typeInfo.getPublicField("simpleClassPublicStringField");
+        Assert.assertEquals("simpleClassPublicStringField", field.getName());
+        Assert.assertTrue(typeInfo.getPublicFields().stream().anyMatch(i -> i == field));
+        Assert.assertNull(typeInfo.getPublicField("simpleClassProtectedStringField"));
+    }
+
+    @Test
+    public void testGetPublicMethod() throws Exception {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SimpleClass.class);
+        final MethodInfo setter = typeInfo.getPublicMethod("setSimpleClassPrivatePrimitiveIntField", int.class);
+        Assert.assertEquals(
+                SimpleClass.class.getMethod("setSimpleClassPrivatePrimitiveIntField", int.class),
+                setter.getExecutable()
+        );
+        Assert.assertTrue(typeInfo.getPublicMethods().stream().anyMatch(i -> i == setter));
+        Assert.assertNotNull(typeInfo.getPublicMethod("hashCode"));
+        Assert.assertNull(typeInfo.getPublicMethod("setSimpleClassPrivatePrimitiveIntField", long.class));
+        Assert.assertNull(typeInfo.getPublicMethod("noSuchMethod"));
+    }
+
+    @Test
+    public void testGetPublicMethodPrefersSourceMethodOverBridge() {
+        final MethodInfo method = Reflection.getTypeInfo(StringComparable.class).getPublicMethod("compareTo", String.class);
+        Assert.assertFalse(method.getExecutable().isBridge());
+        Assert.assertEquals(StringComparable.class, method.getExecutable().getDeclaringClass());
+    }
+
+    @Test
+    public void testGetPublicMethodOfParameterizedType() throws Exception {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(
+                MemberRegistryTest.SimpleClassHolder.class.getField("holder").getGenericType()
+        );
+        final MethodInfo method = typeInfo.getPublicMethod("getListOfT");
+        Assert.assertEquals(
+                "java.util.List<com.github.zerkseez.reflection.types.SimpleClass>",
+                method.getReturnType().toString()
+        );
+        Assert.assertNotNull(typeInfo.getPublicMethod("testOverloading", Object.class));
+    }
+
+    @Test
+    public void testGetPublicConstructor() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SimpleClass.class);
+        Assert.assertEquals(0, typeInfo.getPublicConstructor().getParameters().size());
+        Assert.assertNotNull(typeInfo.getPublicConstructor(int.class));
+        Assert.assertNotNull(typeInfo.getPublicConstructor(int[].class));
+        Assert.assertNull(typeInfo.getPublicConstructor(String.class));
+        Assert.assertNull(typeInfo.getPublicConstructor(String[].class));
+    }
+
+    @Test
+    public void testGetDeclaredMethodsByName() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(GenericClass.class);
+        final List<MethodInfo> methods = typeInfo.getDeclaredMethodsByName("testOverloading");
+        Assert.assertEquals(
+                typeInfo.getDeclaredMethods().stream().filter(i -> i.getName().equals("testOverloading")).count(),
+                methods.size()
+        );
+        Assert.assertTrue(methods.size() > 1);
+        Assert.assertTrue(typeInfo.getDeclaredMethodsByName("noSuchMethod").isEmpty());
+    }
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+
+public class MemberRegistryTest {
+    @Test
+    public void testPublicAndDeclaredMembersAreShared() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SimpleClass.class);
+        for (ConstructorInfo constructor : typeInfo.getPublicConstructors()) {
+            Assert.assertTrue(typeInfo.getDeclaredConstructors().stream().anyMatch(i -> i == constructor));
+        }
+        for (MethodInfo method : typeInfo.getDeclaredMethods()) {
+            Assert.assertTrue(typeInfo.getPublicMethods().stream().anyMatch(i -> i == method));
+        }
+        for (FieldInfo field : typeInfo.getPublicFields()) {
+            Assert.assertTrue(typeInfo.getDeclaredFields().stream().anyMatch(i -> i == field));
+        }
+    }
+
+    @Test
+    public void testMembersAreKeyedByDeclaringType() throws Exception {
+        final Method method = GenericClass.class.getMethod("getListOfT");
+        final ClassInfo raw = ClassInfo.of(GenericClass.class);
+        Assert.assertSame(raw.getMemberInfo(method), raw.getMemberInfo(method));
+
+        final AbstractTypeInfo<?> parameterized = (AbstractTypeInfo<?>) Reflection.getTypeInfo(
+                SimpleClassHolder.class.getField("holder").getGenericType()
+        );
+        Assert.assertSame(parameterized.getMemberInfo(method), parameterized.getMemberInfo(method));
+        Assert.assertNotSame(raw.getMemberInfo(method), parameterized.getMemberInfo(method));
+        Assert.assertSame(parameterized, parameterized.getMemberInfo(method).getDeclaringElement());
+    }
+
+    @Test
+    public void testDeclaringElementOfMethodTypeVariableIsShared() throws Exception {
+        final Method method = GenericClass.class.getMethod("testTypeVariableHiding", List.class);
+        final TypeVariableInfo typeVariable = TypeVariableInfo.of(method.getTypeParameters()[0]);
+        Assert.assertSame(typeVariable.getDeclaringElement(), typeVariable.getDeclaringElement());
+        Assert.assertTrue(Reflection.getTypeInfo(GenericClass.class).getDeclaredMethods().stream()
+                .anyMatch(i -> i == typeVariable.getDeclaringElement()));
+    }
+
+    @Test
+    public void testParameterizedMembersAreViewsOfRawMembers() throws Exception {
+        final ClassInfo raw = ClassInfo.of(GenericClass.class);
+        final TypeInfo<?> simpleClassHolder = Reflection.getTypeInfo(
+                SimpleClassHolder.class.getField("holder").getGenericType()
+        );
+        final TypeInfo<?> stringHolder = Reflection.getTypeInfo(
+                SimpleClassHolder.class.getField("stringHolder").getGenericType()
+        );
+        Assert.assertEquals(raw.getDeclaredMethods().size(), simpleClassHolder.getDeclaredMethods().size());
+        for (int i = 0; i < raw.getDeclaredMethods().size(); i++) {
+            final MethodInfo skeleton = raw.getDeclaredMethods().get(i);
+            final MethodInfo view = simpleClassHolder.getDeclaredMethods().get(i);
+            Assert.assertSame(skeleton, view.getSkeleton());
+            Assert.assertSame(skeleton.getExecutable(), view.getExecutable());
+            Assert.assertSame(skeleton.getExecutable(), stringHolder.getDeclaredMethods().get(i).getExecutable());
+            Assert.assertEquals(skeleton.getName(), view.getName());
+            Assert.assertEquals(skeleton.getModifiers(), view.getModifiers());
+            Assert.assertEquals(skeleton.getDeclaredTypeVariables(), view.getDeclaredTypeVariables());
+        }
+        for (int i = 0; i < raw.getDeclaredFields().size(); i++) {
+            Assert.assertSame(raw.getDeclaredFields().get(i), simpleClassHolder.getDeclaredFields().get(i).getSkeleton());
+        }
+        Assert.assertNull(raw.getDeclaredMethods().get(0).getSkeleton());
+
+        final Method method = GenericClass.class.getMethod("getListOfT");
+        Assert.assertEquals(
+                "java.util.List<com.github.zerkseez.reflection.types.SimpleClass>",
+                ((AbstractTypeInfo<?>) simpleClassHolder).getMemberInfo(method).getReturnType().toString()
+        );
+        Assert.assertEquals(
+                "java.util.List<java.lang.String>",
+                ((AbstractTypeInfo<?>) stringHolder).getMemberInfo(method).getReturnType().toString()
+        );
+    }
+
+    public static class SimpleClassHolder {
+        public GenericClass<SimpleClass> holder;
+        public GenericClass<String> stringHolder;
+    }
+}
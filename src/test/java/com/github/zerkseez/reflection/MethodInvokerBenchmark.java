@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.zerkseez.reflection.types.SimpleClass;
+
+/**
+ * Compares MethodInfo.invoker() against Method.invoke() and a direct call,
+ * setting and reading a primitive property of SimpleClass.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodInvokerBenchmark {
+    private final SimpleClass target = new SimpleClass();
+    private final Integer value = 42;
+    private Method getter;
+    private Method setter;
+    private MethodInvoker getterInvoker;
+    private MethodInvoker setterInvoker;
+
+    @Setup
+    public void setUp() throws Exception {
+        getter = SimpleClass.class.getMethod("getSimpleClassPrivatePrimitiveIntField");
+        setter = SimpleClass.class.getMethod("setSimpleClassPrivatePrimitiveIntField", int.class);
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SimpleClass.class);
+        getterInvoker = typeInfo.getPublicMethod("getSimpleClassPrivatePrimitiveIntField").invoker();
+        setterInvoker = typeInfo.getPublicMethod("setSimpleClassPrivatePrimitiveIntField", int.class).invoker();
+    }
+
+    @Benchmark
+    public int direct() {
+        target.setSimpleClassPrivatePrimitiveIntField(value);
+        return target.getSimpleClassPrivatePrimitiveIntField();
+    }
+
+    @Benchmark
+    public Object methodInvoke() throws Exception {
+        setter.invoke(target, value);
+        return getter.invoke(target);
+    }
+
+    @Benchmark
+    public Object invoker() {
+        setterInvoker.invoke(target, value);
+        return getterInvoker.invoke(target);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodInvokerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
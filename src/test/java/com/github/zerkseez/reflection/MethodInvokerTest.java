@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.SimpleClass;
+
+public class MethodInvokerTest {
+    public interface Greeter {
+        default String greet(final String name) {
+            return String.format("Hello, %s", name);
+        }
+    }
+
+    public static class LoudGreeter implements Greeter {
+        @Override
+        public String greet(final String name) {
+            return String.format("HELLO, %s!", name);
+        }
+    }
+
+    public static class Failing {
+        public void failUnchecked() {
+            throw new IllegalStateException("unchecked");
+        }
+
+        public void failChecked() throws IOException {
+            throw new IOException("checked");
+        }
+    }
+
+    private static class Hidden {
+        @SuppressWarnings("unused")
+        private String reveal(final int value) {
+            return String.valueOf(value);
+        }
+    }
+
+    private static MethodInvoker invoker(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        return Reflection.getTypeInfo(type).getPublicMethod(name, parameterTypes).invoker();
+    }
+
+    @Test
+    public void testInstanceMethods() {
+        final SimpleClass target = new SimpleClass();
+        Assert.assertNull(invoker(SimpleClass.class, "setSimpleClassPrivatePrimitiveIntField", int.class).invoke(target, 42));
+        Assert.assertEquals(42, invoker(SimpleClass.class, "getSimpleClassPrivatePrimitiveIntField").invoke(target));
+    }
+
+    @Test
+    public void testStaticMethods() {
+        Assert.assertEquals(42, invoker(Integer.class, "parseInt", String.class).invoke(null, "42"));
+        Assert.assertEquals(
+                "a-b",
+                invoker(String.class, "format", String.class, Object[].class).invoke(null, "%s-%s", new Object[] { "a", "b" })
+        );
+    }
+
+    @Test
+    public void testDefaultMethodsAreDispatchedVirtually() {
+        final MethodInvoker invoker = invoker(Greeter.class, "greet", String.class);
+        Assert.assertEquals("Hello, world", invoker.invoke(new Greeter() {}, "world"));
+        Assert.assertEquals("HELLO, world!", invoker.invoke(new LoudGreeter(), "world"));
+    }
+
+    @Test
+    public void testNonPublicMethods() throws Exception {
+        final MethodInfo method = Reflection.getTypeInfo(Hidden.class).getDeclaredMethods().stream()
+                .filter(i -> i.getName().equals("reveal"))
+                .findFirst()
+                .get();
+        Assert.assertEquals("7", method.invoker().invoke(new Hidden(), 7));
+        Assert.assertFalse(method.getExecutable().isAccessible());
+    }
+
+    @Test
+    public void testInvokerIsCached() throws Exception {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(
+                MemberRegistryTest.SimpleClassHolder.class.getField("holder").getGenericType()
+        );
+        final MethodInfo method = typeInfo.getPublicMethod("getT");
+        Assert.assertSame(method.invoker(), method.invoker());
+        Assert.assertSame(ClassInfo.of(typeInfo.getErasedClass()).getPublicMethod("getT").invoker(), method.invoker());
+    }
+
+    @Test
+    public void testExceptions() {
+        try {
+            invoker(Failing.class, "failUnchecked").invoke(new Failing());
+            Assert.fail();
+        }
+        catch (IllegalStateException e) {
+            Assert.assertEquals("unchecked", e.getMessage());
+        }
+        try {
+            invoker(Failing.class, "failChecked").invoke(new Failing());
+            Assert.fail();
+        }
+        catch (ReflectionException e) {
+            Assert.assertTrue(e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongNumberOfArguments() {
+        invoker(Integer.class, "parseInt", String.class).invoke(null, "1", "2");
+    }
+}
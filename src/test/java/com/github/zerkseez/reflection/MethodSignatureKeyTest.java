@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MethodSignatureKeyTest {
+    public interface Source<T> {
+        Object get();
+
+        void put(T value);
+    }
+
+    public static class StringSource implements Source<String> {
+        @Override
+        public String get() {
+            return null;
+        }
+
+        @Override
+        public void put(final String value) {
+        }
+
+        public void put(final Integer value) {
+        }
+    }
+
+    public static class GenericParent {
+        public <T> void g(final T value) {
+        }
+
+        public <T> void h(final List<T> values) {
+        }
+    }
+
+    public interface GenericOperations {
+        <U> void g(U value);
+
+        <U> void h(List<U> values);
+    }
+
+    public static class GenericChild extends GenericParent implements GenericOperations {
+        @Override
+        public <V> void g(final V value) {
+        }
+
+        @Override
+        public <V> void h(final List<V> values) {
+        }
+    }
+
+    public static class GenericImplementation extends GenericParent implements GenericOperations {
+    }
+
+    private static List<MethodInfo> getPublicMethods(final TypeInfo<?> typeInfo, final String name) {
+        return typeInfo.getPublicMethods().stream()
+                .filter(i -> i.getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testKeyIdentifiesOverride() {
+        final TypeInfo<?> sourceInfo = Reflection.getTypeInfo(StringSource.class).getInterfaces().get(0);
+        final TypeInfo<?> stringSourceInfo = Reflection.getTypeInfo(StringSource.class);
+        final MethodSignatureKey inherited = getPublicMethods(sourceInfo, "put").get(0).getSignatureKey();
+        final MethodSignatureKey declared = stringSourceInfo.getDeclaredMethods().stream()
+                .filter(i -> i.getName().equals("put") && i.getParameters().get(0).getType().getType() == String.class)
+                .findFirst()
+                .get()
+                .getSignatureKey();
+        Assert.assertEquals(inherited, declared);
+        Assert.assertEquals(inherited.hashCode(), declared.hashCode());
+    }
+
+    @Test
+    public void testOverloadsAreKept() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringSource.class);
+        final List<MethodInfo> methods = getPublicMethods(typeInfo, "put");
+        Assert.assertEquals(2, methods.size());
+        Assert.assertNotEquals(methods.get(0).getSignatureKey(), methods.get(1).getSignatureKey());
+        for (MethodInfo method : methods) {
+            Assert.assertEquals(StringSource.class, method.getExecutable().getDeclaringClass());
+        }
+    }
+
+    @Test
+    public void testCovariantOverrideReplacesInheritedMethod() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringSource.class);
+        final List<MethodInfo> methods = getPublicMethods(typeInfo, "get");
+        Assert.assertEquals(1, methods.size());
+        Assert.assertEquals(String.class, methods.get(0).getReturnType().getType());
+        Assert.assertEquals(1, typeInfo.publicMethods().filter(i -> i.getName().equals("get")).count());
+    }
+
+    @Test
+    public void testGenericMethodOverridesAreMerged() {
+        for (String name : new String[] { "g", "h" }) {
+            final TypeInfo<?> childInfo = Reflection.getTypeInfo(GenericChild.class);
+            final List<MethodInfo> childMethods = getPublicMethods(childInfo, name);
+            Assert.assertEquals(name, 1, childMethods.size());
+            Assert.assertEquals(GenericChild.class, childMethods.get(0).getExecutable().getDeclaringClass());
+            Assert.assertEquals(1, childInfo.publicMethods().filter(i -> i.getName().equals(name)).count());
+
+            final TypeInfo<?> implementationInfo = Reflection.getTypeInfo(GenericImplementation.class);
+            final List<MethodInfo> implementationMethods = getPublicMethods(implementationInfo, name);
+            Assert.assertEquals(name, 1, implementationMethods.size());
+            Assert.assertEquals(GenericParent.class, implementationMethods.get(0).getExecutable().getDeclaringClass());
+            Assert.assertEquals(1, implementationInfo.publicMethods().filter(i -> i.getName().equals(name)).count());
+
+            final MethodSignatureKey parentKey = getPublicMethods(Reflection.getTypeInfo(GenericParent.class), name)
+                    .get(0).getSignatureKey();
+            Assert.assertEquals(parentKey, childMethods.get(0).getSignatureKey());
+            Assert.assertEquals(parentKey.hashCode(), childMethods.get(0).getSignatureKey().hashCode());
+        }
+    }
+}
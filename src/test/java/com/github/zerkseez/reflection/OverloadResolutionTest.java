@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OverloadResolutionTest {
+    public static class Target {
+        public void call(final Object value) {
+        }
+
+        public void call(final String value) {
+        }
+
+        public void call(final int value) {
+        }
+
+        public void call(final long value) {
+        }
+
+        public void format(final String format, final Object... arguments) {
+        }
+
+        public void join(final Object... values) {
+        }
+
+        public void join(final String... values) {
+        }
+
+        public <T extends Number> T first(final List<T> values) {
+            return null;
+        }
+
+        public <T> T first(final Collection<T> values) {
+            return null;
+        }
+
+        public <T extends Comparable<T>> T max(final T a, final T b) {
+            return null;
+        }
+
+        public static <T> void convert(final T value) {
+        }
+
+        public static void convert(final String value) {
+        }
+
+        public static <T> void wrap(final List<T> values) {
+        }
+
+        public static void wrap(final ArrayList<String> values) {
+        }
+
+        public void ambiguous(final Integer a, final Object b) {
+        }
+
+        public void ambiguous(final Object a, final Integer b) {
+        }
+    }
+
+    public static class Arguments {
+        public ArrayList<Integer> arrayListOfInteger;
+        public List<String> listOfString;
+        public ArrayList<String> arrayListOfString;
+    }
+
+    private static TypeInfo<?> type(final Class<?> type) {
+        return Reflection.getTypeInfo(type);
+    }
+
+    private static TypeInfo<?> argument(final String name) throws Exception {
+        return Reflection.getTypeInfo(Arguments.class.getField(name).getGenericType());
+    }
+
+    private static String findBestMethod(final String name, final TypeInfo<?>... argumentTypes) {
+        final MethodInfo method = type(Target.class).findBestMethod(name, argumentTypes);
+        if (method == null) {
+            return null;
+        }
+        return String.format(
+                "%s(%s)",
+                method.getName(),
+                Arrays.stream(method.getExecutable().getParameterTypes())
+                        .map(i -> i.getSimpleName())
+                        .collect(Collectors.joining(", "))
+        );
+    }
+
+    @Test
+    public void testSubtypingBeforeBoxing() {
+        Assert.assertEquals("call(String)", findBestMethod("call", type(String.class)));
+        Assert.assertEquals("call(Object)", findBestMethod("call", type(Integer.class)));
+        Assert.assertEquals("call(int)", findBestMethod("call", type(short.class)));
+        Assert.assertEquals("call(long)", findBestMethod("call", type(long.class)));
+        Assert.assertEquals("call(Object)", findBestMethod("call", type(double.class)));
+        Assert.assertNull(findBestMethod("call", type(String.class), type(String.class)));
+        Assert.assertNull(findBestMethod("call"));
+    }
+
+    @Test
+    public void testNullArgument() {
+        Assert.assertEquals("call(String)", findBestMethod("call", (TypeInfo<?>) null));
+    }
+
+    @Test
+    public void testVariableArity() {
+        Assert.assertEquals(
+                "format(String, Object[])",
+                findBestMethod("format", type(String.class), type(Integer.class), type(int.class))
+        );
+        Assert.assertEquals("format(String, Object[])", findBestMethod("format", type(String.class)));
+        Assert.assertEquals(
+                "format(String, Object[])",
+                findBestMethod("format", type(String.class), type(Object[].class))
+        );
+        Assert.assertNull(findBestMethod("format", type(Integer.class)));
+    }
+
+    @Test
+    public void testVariableArityWithoutVariableArguments() {
+        Assert.assertEquals("join(String[])", findBestMethod("join"));
+        Assert.assertEquals("join(String[])", findBestMethod("join", type(String.class)));
+        Assert.assertEquals("join(Object[])", findBestMethod("join", type(Integer.class)));
+    }
+
+    @Test
+    public void testTypeVariablesAreInferred() throws Exception {
+        Assert.assertEquals("first(List)", findBestMethod("first", argument("arrayListOfInteger")));
+        Assert.assertEquals("first(Collection)", findBestMethod("first", argument("listOfString")));
+        Assert.assertNotNull(findBestMethod("max", type(Integer.class), type(Integer.class)));
+        Assert.assertNotNull(findBestMethod("max", type(int.class), type(Integer.class)));
+        Assert.assertNull(findBestMethod("max", type(Integer.class), type(String.class)));
+    }
+
+    @Test
+    public void testNonGenericMethodIsMoreSpecific() throws Exception {
+        Assert.assertEquals("convert(String)", findBestMethod("convert", type(String.class)));
+        Assert.assertEquals("convert(Object)", findBestMethod("convert", type(Integer.class)));
+        Assert.assertEquals("wrap(ArrayList)", findBestMethod("wrap", argument("arrayListOfString")));
+        Assert.assertEquals("wrap(List)", findBestMethod("wrap", argument("listOfString")));
+    }
+
+    @Test
+    public void testAmbiguousCall() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                findBestMethod("ambiguous", type(Integer.class), type(Integer.class));
+                Assert.fail("Expected ReflectionException");
+            }
+            catch (ReflectionException e) {
+                Assert.assertTrue(e.getMessage().contains("ambiguous"));
+            }
+        }
+        Assert.assertEquals(
+                "ambiguous(Integer, Object)",
+                findBestMethod("ambiguous", type(Integer.class), type(String.class))
+        );
+    }
+
+    @Test
+    public void testResultsAreCached() {
+        final TypeInfo<?> typeInfo = type(Target.class);
+        final MethodInfo method = typeInfo.findBestMethod("call", type(String.class));
+        Assert.assertSame(method, typeInfo.findBestMethod("call", type(String.class)));
+        Assert.assertTrue(typeInfo.getPublicMethods().stream().anyMatch(i -> i == method));
+    }
+
+    @Test
+    public void testOnlyAmbiguityIsCachedAsFailure() {
+        final DispatchCache cache = new DispatchCache();
+        final TypeInfo<?>[] argumentTypes = { type(String.class) };
+        final AtomicInteger calls = new AtomicInteger();
+        final IllegalStateException cause = new IllegalStateException();
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("call", argumentTypes, () -> {
+                    calls.incrementAndGet();
+                    throw new ReflectionException(cause);
+                });
+                Assert.fail("Expected ReflectionException");
+            }
+            catch (ReflectionException e) {
+                Assert.assertSame(cause, e.getCause());
+            }
+        }
+        Assert.assertEquals(2, calls.get());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get("ambiguous", argumentTypes, () -> {
+                    calls.incrementAndGet();
+                    throw new AmbiguousCallException("Call is ambiguous");
+                });
+                Assert.fail("Expected AmbiguousCallException");
+            }
+            catch (AmbiguousCallException e) {
+                Assert.assertEquals("Call is ambiguous", e.getMessage());
+            }
+        }
+        Assert.assertEquals(3, calls.get());
+    }
+}
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+
+public class ParameterTypeTest {
+    private static final Method DO_SOMETHING_WITH_T = getDoSomethingWithT();
+
+    private static Method getDoSomethingWithT() {
+        return Arrays.stream(GenericClass.class.getMethods())
+                .filter(i -> i.getName().equals("doSomethingWithT"))
+                .findFirst()
+                .get();
+    }
+
+    @Test
+    public void testParameterTypesMatchParameters() throws Exception {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(
+                MemberRegistryTest.SimpleClassHolder.class.getField("holder").getGenericType()
+        );
+        for (MethodInfo method : typeInfo.getDeclaredMethods()) {
+            Assert.assertEquals(method.getExecutable().getParameterCount(), method.getParameterCount());
+            Assert.assertEquals(
+                    Arrays.asList(method.getExecutable().getParameterTypes()),
+                    method.getErasedParameterTypes()
+            );
+            for (int i = 0; i < method.getParameterCount(); i++) {
+                Assert.assertSame(method.getParameters().get(i).getType(), method.getParameterType(i));
+            }
+        }
+        final MethodInfo method = ((AbstractTypeInfo<?>) typeInfo).getMemberInfo(DO_SOMETHING_WITH_T);
+        Assert.assertSame(Reflection.getTypeInfo(SimpleClass.class), method.getParameterType(0));
+        Assert.assertEquals("java.util.List<com.github.zerkseez.reflection.types.SimpleClass>", method.getParameterType(4).toString());
+    }
+
+    @Test
+    public void testParameterTypesAreResolvedSeparately() {
+        final List<Integer> resolved = new ArrayList<Integer>();
+        final MethodInfo method = new MethodInfo(Reflection.getTypeInfo(GenericClass.class), DO_SOMETHING_WITH_T) {
+            @Override
+            protected TypeInfo<?> doGetParameterType(final int index) {
+                resolved.add(index);
+                return super.doGetParameterType(index);
+            }
+        };
+
+        Assert.assertEquals(14, method.getParameterCount());
+        Assert.assertTrue(resolved.isEmpty());
+
+        Assert.assertEquals("T", method.getParameterType(1).getArrayElementType().toString());
+        Assert.assertSame(method.getParameterType(1), method.getParameterType(1));
+        Assert.assertEquals(Arrays.asList(1), resolved);
+
+        Assert.assertEquals(14, method.getParameters().size());
+        Assert.assertEquals(14, resolved.size());
+        Assert.assertSame(method.getParameterType(1), method.getParameters().get(1).getType());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testParameterTypeOutOfRange() throws Exception {
+        Reflection.getTypeInfo(GenericClass.class).getPublicMethod("getT").getParameterType(0);
+    }
+}
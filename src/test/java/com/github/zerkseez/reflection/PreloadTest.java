@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class PreloadTest {
+    @Test
+    public void testPreload() {
+        final List<Class<?>> types = Arrays.asList(GenericSubSubClass.class, SubClass.class, SimpleClass.class);
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        final PreloadReport report;
+        try {
+            report = Reflection.preload(types, pool);
+        }
+        finally {
+            pool.shutdown();
+        }
+
+        Assert.assertEquals(types, new ArrayList<Class<?>>(report.getTypeNanos().keySet()));
+        Assert.assertTrue(report.getFailures().isEmpty());
+        for (long nanos : report.getTypeNanos().values()) {
+            Assert.assertTrue(nanos >= 0 && nanos <= report.getElapsedNanos());
+        }
+
+        for (MethodInfo method : Reflection.getTypeInfo(GenericSubSubClass.class).getPublicMethods()) {
+            final List<Object> computed = new ArrayList<Object>();
+            method.forEachCachedValue(computed::add);
+            Assert.assertTrue(computed.contains(method.getReturnType()));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.ExtendedGenericInterface;
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericInterfaceWithDefaultFunction;
+import com.github.zerkseez.reflection.types.GenericSubClassWithGenericTypeParameter;
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class PublicMemberStreamTest {
+    public static class Overloads {
+        public void alpha(final String value) {
+        }
+
+        public void beta(final Integer value) {
+        }
+
+        public void beta(final Long value) {
+        }
+
+        public void gamma(final String value) {
+        }
+    }
+
+    /**
+     * Records the methods whose parameter types get resolved
+     */
+    private static class ResolutionRecordingClassInfo extends ClassInfo {
+        private final Set<String> resolved = ConcurrentHashMap.newKeySet();
+
+        ResolutionRecordingClassInfo(final Class<?> type) {
+            super(type);
+        }
+
+        @Override
+        MethodInfo createMemberInfo(final Method method) {
+            return new MethodInfo(this, method) {
+                @Override
+                protected TypeInfo<?> doGetParameterType(final int index) {
+                    resolved.add(method.toString());
+                    return super.doGetParameterType(index);
+                }
+            };
+        }
+    }
+
+    private static List<TypeInfo<?>> types() throws Exception {
+        return Stream.of(
+                Reflection.getTypeInfo(SimpleClass.class),
+                Reflection.getTypeInfo(SubClass.class),
+                Reflection.getTypeInfo(GenericClass.class),
+                Reflection.getTypeInfo(ExtendedGenericInterface.class),
+                Reflection.getTypeInfo(GenericInterfaceWithDefaultFunction.class),
+                Reflection.getTypeInfo(GenericSubClassWithGenericTypeParameter.class),
+                Reflection.getTypeInfo(GenericSubSubClass.class),
+                Reflection.getTypeInfo(MemberLookupTest.StringComparable.class),
+                Reflection.getTypeInfo(MemberRegistryTest.SimpleClassHolder.class.getField("holder").getGenericType())
+        ).collect(Collectors.toList());
+    }
+
+    private static <T> Set<T> identitySet(final Stream<T> stream) {
+        final Set<T> result = Collections.newSetFromMap(new IdentityHashMap<T, Boolean>());
+        stream.forEach(result::add);
+        return result;
+    }
+
+    @Test
+    public void testStreamsMatchLists() throws Exception {
+        for (TypeInfo<?> typeInfo : types()) {
+            Assert.assertEquals(
+                    typeInfo.toString(),
+                    identitySet(typeInfo.getPublicMethods().stream()),
+                    identitySet(typeInfo.publicMethods())
+            );
+            Assert.assertEquals(
+                    typeInfo.toString(),
+                    identitySet(typeInfo.getPublicFields().stream()),
+                    identitySet(typeInfo.publicFields())
+            );
+        }
+    }
+
+    @Test
+    public void testStreamsHaveNoDuplicates() throws Exception {
+        for (TypeInfo<?> typeInfo : types()) {
+            Assert.assertEquals(typeInfo.publicMethods().count(), identitySet(typeInfo.publicMethods()).size());
+            Assert.assertEquals(typeInfo.publicFields().count(), identitySet(typeInfo.publicFields()).size());
+        }
+    }
+
+    @Test
+    public void testParallelStreamsMatchLists() throws Exception {
+        final List<TypeInfo<?>> types = new ArrayList<TypeInfo<?>>(types());
+        types.add(Reflection.getTypeInfo(ArrayList.class));
+        types.add(Reflection.getTypeInfo(ConcurrentHashMap.class));
+        for (int i = 0; i < 20; i++) {
+            for (TypeInfo<?> typeInfo : types) {
+                final List<MethodInfo> methods = typeInfo.publicMethods().parallel().collect(Collectors.toList());
+                Assert.assertEquals(typeInfo.toString(), identitySet(typeInfo.getPublicMethods().stream()), identitySet(methods.stream()));
+                Assert.assertEquals(typeInfo.toString(), typeInfo.getPublicMethods().size(), methods.size());
+                final List<FieldInfo> fields = typeInfo.publicFields().parallel().collect(Collectors.toList());
+                Assert.assertEquals(typeInfo.toString(), identitySet(typeInfo.getPublicFields().stream()), identitySet(fields.stream()));
+                Assert.assertEquals(typeInfo.toString(), typeInfo.getPublicFields().size(), fields.size());
+            }
+        }
+    }
+
+    @Test
+    public void testDeclaredMembersComeFirst() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SubClass.class);
+        final MethodInfo first = typeInfo.publicMethods().findFirst().get();
+        Assert.assertEquals(SubClass.class, first.getExecutable().getDeclaringClass());
+        Assert.assertTrue(typeInfo.publicMethods()
+                .filter(i -> i.getName().equals("hashCode"))
+                .findFirst()
+                .isPresent());
+    }
+
+    @Test
+    public void testSkippedMethodsAreNotResolved() throws Exception {
+        final ResolutionRecordingClassInfo typeInfo = new ResolutionRecordingClassInfo(Overloads.class);
+        Assert.assertNotNull(typeInfo.publicMethods().findFirst().get());
+        Assert.assertEquals(Collections.emptySet(), typeInfo.resolved);
+
+        Assert.assertEquals(1, typeInfo.publicMethods().filter(i -> i.getName().equals("gamma")).count());
+        // Only the methods sharing a name have their signatures compared
+        Assert.assertEquals(
+                Stream.of(
+                        Overloads.class.getMethod("beta", Integer.class),
+                        Overloads.class.getMethod("beta", Long.class)
+                ).map(i -> i.toString()).collect(Collectors.toSet()),
+                typeInfo.resolved
+        );
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+/**
+ * Compares the cost of enumerating the public members of a class and reading
+ * their types in generic mode (Reflection.getTypeInfo) and raw mode
+ * (Reflection.getRawTypeInfo). Each invocation starts from a new, uncached
+ * TypeInfo object for every class, so the member types are resolved again;
+ * the types they refer to are shared through the registry in both modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RawTypeInfoBenchmark {
+    private static final Class<?>[] TYPES = {
+            ArrayList.class, HashMap.class, ConcurrentHashMap.class,
+            SimpleClass.class, SubClass.class, GenericClass.class, GenericSubSubClass.class
+    };
+
+    private static void consumeMembers(final TypeInfo<?> typeInfo, final Blackhole blackhole) {
+        for (FieldInfo field : typeInfo.getPublicFields()) {
+            blackhole.consume(field.getType());
+        }
+        for (MethodInfo method : typeInfo.getPublicMethods()) {
+            blackhole.consume(method.getReturnType());
+            for (ParameterInfo parameter : method.getParameters()) {
+                blackhole.consume(parameter.getType());
+            }
+        }
+    }
+
+    @Benchmark
+    public void generic(final Blackhole blackhole) {
+        for (Class<?> type : TYPES) {
+            consumeMembers(new ClassInfo(type), blackhole);
+        }
+    }
+
+    @Benchmark
+    public void raw(final Blackhole blackhole) {
+        for (Class<?> type : TYPES) {
+            consumeMembers(new RawClassInfo(type), blackhole);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RawTypeInfoBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.net.URLClassLoader;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class RawTypeInfoTest {
+    @Test
+    public void testRawTypeInfoIsShared() {
+        final TypeInfo<?> raw = Reflection.getRawTypeInfo(GenericClass.class);
+        Assert.assertSame(raw, Reflection.getRawTypeInfo(GenericClass.class));
+        Assert.assertNotEquals(Reflection.getTypeInfo(GenericClass.class), raw);
+        Assert.assertEquals(GenericClass.class, raw.getType());
+        Assert.assertEquals(Reflection.getTypeInfo(GenericClass.class).getFullBinaryName(), raw.getFullBinaryName());
+        Assert.assertFalse(raw.hasTypeVariables());
+        Assert.assertEquals("com.github.zerkseez.reflection.types.GenericClass", raw.toString());
+        Assert.assertNull(Reflection.getRawTypeInfo(null));
+    }
+
+    @Test
+    public void testMemberTypesAreErased() {
+        final TypeInfo<?> raw = Reflection.getRawTypeInfo(GenericClass.class);
+        Assert.assertEquals(
+                Reflection.getTypeInfo(GenericClass.class).getDeclaredMethods().size(),
+                raw.getDeclaredMethods().size()
+        );
+        for (MethodInfo method : raw.getDeclaredMethods()) {
+            Assert.assertFalse(method.hasTypeVariables());
+            Assert.assertSame(
+                    Reflection.getRawTypeInfo(method.getExecutable().getReturnType()),
+                    method.getReturnType()
+            );
+            for (ParameterInfo parameter : method.getParameters()) {
+                Assert.assertSame(Reflection.getRawTypeInfo(parameter.getParameter().getType()), parameter.getType());
+            }
+        }
+        for (FieldInfo field : raw.getDeclaredFields()) {
+            Assert.assertSame(Reflection.getRawTypeInfo(field.getField().getType()), field.getType());
+        }
+
+        final MethodInfo getListOfT = raw.getPublicMethod("getListOfT");
+        Assert.assertSame(Reflection.getRawTypeInfo(List.class), getListOfT.getReturnType());
+        Assert.assertEquals("public java.util.List getListOfT()", getListOfT.toString());
+    }
+
+    @Test
+    public void testSupertypesAreRaw() {
+        final TypeInfo<?> raw = Reflection.getRawTypeInfo(GenericSubSubClass.class);
+        for (TypeInfo<?> supertype : raw.getAllSupertypes()) {
+            Assert.assertSame(Reflection.getRawTypeInfo(supertype.getErasedClass()), supertype);
+        }
+        Assert.assertSame(Reflection.getRawTypeInfo(GenericSubSubClass.class.getSuperclass()), raw.getSuperClass());
+        Assert.assertTrue(raw.isSubclassOf(GenericClass.class));
+        Assert.assertTrue(Reflection.getRawTypeInfo(Object.class).isAssignableFrom(raw));
+        Assert.assertSame(Reflection.getRawTypeInfo(String.class), Reflection.getRawTypeInfo(String[].class).getArrayElementType());
+    }
+
+    @Test
+    public void testInvalidateClassDropsRawDependents() throws Exception {
+        try (URLClassLoader loader = ThrowawayClassLoaders.create()) {
+            final Class<?> simpleClass = loader.loadClass(SimpleClass.class.getName());
+            final Class<?> subClass = loader.loadClass(SubClass.class.getName());
+            final TypeInfo<?> subClassInfo = Reflection.getRawTypeInfo(subClass);
+            final TypeInfo<?> simpleClassInfo = subClassInfo.getSuperClass();
+            Assert.assertSame(Reflection.getRawTypeInfo(simpleClass), simpleClassInfo);
+
+            Reflection.invalidate(simpleClass);
+            Assert.assertNotSame(simpleClassInfo, Reflection.getRawTypeInfo(simpleClass));
+            Assert.assertSame(Reflection.getRawTypeInfo(simpleClass), Reflection.getRawTypeInfo(subClass).getSuperClass());
+        }
+    }
+}
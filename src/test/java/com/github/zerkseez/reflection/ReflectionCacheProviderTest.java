@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.ParameterizedType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+
+public class ReflectionCacheProviderTest {
+    @Test
+    public void testDefaultProvider() {
+        Assert.assertEquals(TypeInterner.loadProvider().getClass(), Reflection.getCacheProvider().getClass());
+        if (System.getProperty(ReflectionCacheProvider.PROVIDER_PROPERTY) == null
+                && System.getProperty(ReflectionCacheProvider.MAXIMUM_SIZE_PROPERTY) == null) {
+            Assert.assertTrue(Reflection.getCacheProvider() instanceof WeakReflectionCacheProvider);
+        }
+    }
+
+    @Test
+    public void testProvidersAreSelectedByName() {
+        Assert.assertTrue(TypeInterner.loadProvider("weak") instanceof WeakReflectionCacheProvider);
+        Assert.assertTrue(TypeInterner.loadProvider("unbounded") instanceof UnboundedReflectionCacheProvider);
+        Assert.assertTrue(TypeInterner.loadProvider("bounded") instanceof BoundedReflectionCacheProvider);
+        Assert.assertTrue(
+                TypeInterner.loadProvider(UnboundedReflectionCacheProvider.class.getName())
+                        instanceof UnboundedReflectionCacheProvider
+        );
+    }
+
+    @Test(expected = ReflectionException.class)
+    public void testInvalidProviderName() {
+        TypeInterner.loadProvider(String.class.getName());
+    }
+
+    @Test
+    public void testWeakProviderInternsEqualTypes() throws Exception {
+        assertInterns(new WeakReflectionCacheProvider());
+    }
+
+    @Test
+    public void testUnboundedProviderInternsEqualTypes() throws Exception {
+        assertInterns(new UnboundedReflectionCacheProvider());
+    }
+
+    @Test
+    public void testBoundedProviderInternsEqualTypes() throws Exception {
+        assertInterns(new BoundedReflectionCacheProvider(10));
+    }
+
+    @Test
+    public void testBoundedProviderIsBounded() {
+        final BoundedReflectionCacheProvider provider = new BoundedReflectionCacheProvider(2);
+        for (Class<?> type : new Class<?>[] { String.class, Integer.class, Long.class, Short.class }) {
+            Assert.assertEquals(type, provider.getClassInfo(type, ClassInfo::new).getType());
+        }
+        Assert.assertEquals(2, provider.size());
+    }
+
+    private static void assertInterns(final ReflectionCacheProvider provider) throws Exception {
+        final ParameterizedType listOfT = (ParameterizedType) GenericClass.class.getMethod("getListOfT")
+                .getGenericReturnType();
+        final ParameterizedTypeInfo first = provider.intern(new ParameterizedTypeInfo(listOfT));
+        final ParameterizedTypeInfo second = provider.intern(new ParameterizedTypeInfo(listOfT));
+        Assert.assertSame(first, second);
+        Assert.assertEquals(first, new ParameterizedTypeInfo(listOfT));
+        Assert.assertEquals(first.hashCode(), new ParameterizedTypeInfo(listOfT).hashCode());
+    }
+}
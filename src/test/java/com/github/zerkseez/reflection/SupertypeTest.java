@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.net.URLClassLoader;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class SupertypeTest {
+    @SuppressWarnings("serial")
+    public static class StringIntegerMap extends HashMap<String, Integer> {
+    }
+
+    @SuppressWarnings({ "serial", "rawtypes" })
+    public static class RawMap extends HashMap {
+    }
+
+    public interface StringList extends List<String> {
+    }
+
+    @Test
+    public void testSupertypeIsResolvedFromSubclass() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringIntegerMap.class);
+        Assert.assertEquals(
+                "java.util.Map<java.lang.String, java.lang.Integer>",
+                typeInfo.getSupertype(Map.class).toString()
+        );
+        Assert.assertEquals(
+                "java.util.AbstractMap<java.lang.String, java.lang.Integer>",
+                typeInfo.getSupertype(AbstractMap.class).toString()
+        );
+        Assert.assertSame(typeInfo.getSupertype(Map.class), typeInfo.getSupertype(Map.class));
+        Assert.assertSame(typeInfo, typeInfo.getSupertype(StringIntegerMap.class));
+        Assert.assertSame(Reflection.getTypeInfo(Object.class), typeInfo.getSupertype(Object.class));
+        Assert.assertNull(typeInfo.getSupertype(Collection.class));
+    }
+
+    @Test
+    public void testResolveTypeArgument() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringIntegerMap.class);
+        Assert.assertEquals(Reflection.getTypeInfo(String.class), typeInfo.resolveTypeArgument(Map.class, 0));
+        Assert.assertEquals(Reflection.getTypeInfo(Integer.class), typeInfo.resolveTypeArgument(Map.class, 1));
+        Assert.assertNull(typeInfo.resolveTypeArgument(Collection.class, 0));
+    }
+
+    @Test(expected = ReflectionException.class)
+    public void testResolveTypeArgumentOutOfRange() {
+        Reflection.getTypeInfo(StringIntegerMap.class).resolveTypeArgument(Map.class, 2);
+    }
+
+    @Test
+    public void testRawSupertypeLeavesTypeVariableUnresolved() {
+        final TypeInfo<?> typeArgument = Reflection.getTypeInfo(RawMap.class).resolveTypeArgument(Map.class, 1);
+        Assert.assertTrue(typeArgument.isTypeVariable());
+        Assert.assertEquals("V", typeArgument.getTypeVariableName());
+    }
+
+    @Test
+    public void testInterfaceSupertypes() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringList.class);
+        Assert.assertEquals("java.util.Collection<java.lang.String>", typeInfo.getSupertype(Collection.class).toString());
+        Assert.assertEquals(
+                Reflection.getTypeInfo(String.class),
+                typeInfo.resolveTypeArgument(Iterable.class, 0)
+        );
+        Assert.assertSame(Reflection.getTypeInfo(Object.class), typeInfo.getSupertype(Object.class));
+    }
+
+    @Test
+    public void testTypesWithoutSupertypes() throws Exception {
+        final TypeInfo<?> typeVariable = Reflection.getTypeInfo(Map.class).getTypeVariables().get(0);
+        Assert.assertNull(typeVariable.getSupertype(Object.class));
+    }
+
+    @Test
+    public void testAllSupertypes() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringIntegerMap.class);
+        final List<TypeInfo<?>> supertypes = typeInfo.getAllSupertypes();
+        Assert.assertEquals("java.util.HashMap<java.lang.String, java.lang.Integer>", supertypes.get(0).toString());
+        Assert.assertTrue(supertypes.contains(typeInfo.getSupertype(Map.class)));
+        Assert.assertFalse(supertypes.contains(typeInfo));
+        Assert.assertEquals(supertypes.size(), supertypes.stream().map(i -> i.getErasedClass()).distinct().count());
+        Assert.assertTrue(Reflection.getTypeInfo(Map.class).getTypeVariables().get(0).getAllSupertypes().isEmpty());
+    }
+
+    @Test
+    public void testIsSubclassOf() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(StringIntegerMap.class);
+        Assert.assertTrue(typeInfo.isSubclassOf(StringIntegerMap.class));
+        Assert.assertTrue(typeInfo.isSubclassOf(Map.class));
+        Assert.assertTrue(typeInfo.isSubclassOf(AbstractMap.class));
+        Assert.assertTrue(typeInfo.isSubclassOf(Object.class));
+        Assert.assertFalse(typeInfo.isSubclassOf(Collection.class));
+        Assert.assertTrue(typeInfo.getSupertype(Map.class).isSubclassOf(Map.class));
+        Assert.assertFalse(typeInfo.getSupertype(Map.class).isSubclassOf(HashMap.class));
+        Assert.assertTrue(Reflection.getTypeInfo(StringList.class).isSubclassOf(Object.class));
+        Assert.assertFalse(Reflection.getTypeInfo(Map.class).getTypeVariables().get(0).isSubclassOf(Object.class));
+    }
+
+    @Test
+    public void testIsSubclassOfAgreesWithIsAssignableFrom() {
+        final Class<?>[] classes = {
+                Object.class, String.class, CharSequence.class, Integer.class, Number.class, int.class,
+                Object[].class, String[].class, CharSequence[].class, Integer[].class, int[].class, String[][].class,
+                Object[][].class, Cloneable.class, java.io.Serializable.class, StringIntegerMap.class, Map.class
+        };
+        for (Class<?> type : classes) {
+            for (Class<?> target : classes) {
+                Assert.assertEquals(
+                        String.format("%s, %s", type, target),
+                        target.isAssignableFrom(type),
+                        Reflection.getTypeInfo(type).isSubclassOf(target)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testSupertypeIdFootprintDoesNotGrowWithRegisteredClasses() throws Exception {
+        AbstractTypeInfo<?> typeInfo = null;
+        for (int i = 0; i < 500; i++) {
+            try (URLClassLoader loader = ThrowawayClassLoaders.create()) {
+                final Class<?> type = loader.loadClass(SubClass.class.getName());
+                typeInfo = ClassInfo.of(type);
+                Assert.assertTrue(typeInfo.isSubclassOf(type.getSuperclass()));
+                Assert.assertFalse(typeInfo.isSubclassOf(SimpleClass.class));
+            }
+        }
+        Assert.assertTrue(ClassInfo.getClassId(typeInfo.getErasedClass()) >= 500);
+        final int[] ids = typeInfo.getSupertypeIds();
+        Assert.assertEquals(typeInfo.getSupertypes().size(), ids.length);
+        for (int i = 1; i < ids.length; i++) {
+            Assert.assertTrue(ids[i - 1] < ids[i]);
+        }
+    }
+}
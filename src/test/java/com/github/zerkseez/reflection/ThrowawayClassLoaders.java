@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+
+/**
+ * Creates class loaders that define their own copies of the test classes, for
+ * tests of invalidation and class unloading
+ */
+final class ThrowawayClassLoaders {
+    private static final URL TEST_CLASSES = GenericSubSubClass.class.getProtectionDomain().getCodeSource().getLocation();
+
+    /**
+     * Creates a class loader over the test classes whose parent is the
+     * bootstrap loader, so every test class it loads is distinct from the one
+     * the tests themselves see
+     * 
+     * @return The class loader; close it when done
+     */
+    static URLClassLoader create() {
+        return new URLClassLoader(new URL[] { TEST_CLASSES }, null);
+    }
+
+    private ThrowawayClassLoaders() {
+        // Prevent instantiation
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+
+public class TypeBindingsTest {
+    public static class Holder {
+        public GenericClass<SimpleClass> holder;
+        public List<String> unrelated;
+    }
+
+    private static TypeInfo<?> fieldType(final String name) throws Exception {
+        return Reflection.getTypeInfo(Holder.class.getField(name).getGenericType());
+    }
+
+    private static TypeVariableInfo typeVariableOfGenericClass() {
+        return TypeVariableInfo.of(GenericClass.class.getTypeParameters()[0]);
+    }
+
+    @Test
+    public void testUnboundTypeIsReturnedAsIs() throws Exception {
+        final List<TypeVariableInfo> bindings = Collections.singletonList(
+                typeVariableOfGenericClass().withValue(ClassInfo.of(Integer.class))
+        );
+        final TypeInfo<?> unrelated = fieldType("unrelated");
+        Assert.assertSame(unrelated, unrelated.substituteTypeVariableValues(bindings));
+
+        final TypeInfo<?> returnType = Reflection.getTypeInfo(GenericClass.class.getMethod("getListOfT").getGenericReturnType());
+        Assert.assertSame(returnType, returnType.substituteTypeVariableValues(Collections.emptyList()));
+        Assert.assertSame(returnType, returnType.substituteTypeVariableValues(bindings.subList(0, 0)));
+    }
+
+    @Test
+    public void testFirstBindingWins() {
+        final TypeVariableInfo typeVariable = typeVariableOfGenericClass();
+        final TypeBindings bindings = TypeBindings.of(Arrays.asList(
+                typeVariable.withValue(ClassInfo.of(Integer.class)),
+                typeVariable.withValue(ClassInfo.of(Long.class))
+        ));
+        Assert.assertSame(ClassInfo.of(Integer.class), bindings.apply(typeVariable));
+        Assert.assertNull(bindings.get(TypeVariableInfo.of(List.class.getTypeParameters()[0])));
+    }
+
+    @Test
+    public void testSubstitutionIsMemoized() throws Exception {
+        final TypeVariableInfo typeVariable = typeVariableOfGenericClass();
+        final TypeBindings bindings = TypeBindings.of(Collections.singletonList(
+                typeVariable.withValue(ClassInfo.of(String.class))
+        ));
+        final TypeInfo<?> listOfT = Reflection.getTypeInfo(GenericClass.class.getMethod("getListOfT").getGenericReturnType());
+        final TypeInfo<?> result = bindings.apply(listOfT);
+        Assert.assertEquals("java.util.List<java.lang.String>", result.toString());
+        Assert.assertSame(result, bindings.apply(listOfT));
+        Assert.assertTrue(bindings.getMemoizedResults().contains(result));
+    }
+
+    @Test
+    public void testUnmemoizedEnvironmentKeepsNoResults() throws Exception {
+        final TypeVariableInfo typeVariable = typeVariableOfGenericClass();
+        final TypeBindings bindings = TypeBindings.unmemoized(Collections.singletonList(
+                typeVariable.withValue(ClassInfo.of(String.class))
+        ));
+        final TypeInfo<?> listOfT = Reflection.getTypeInfo(GenericClass.class.getMethod("getListOfT").getGenericReturnType());
+        final TypeInfo<?> result = bindings.apply(listOfT);
+        Assert.assertEquals("java.util.List<java.lang.String>", result.toString());
+        Assert.assertEquals(result, bindings.apply(listOfT));
+        Assert.assertTrue(bindings.getMemoizedResults().isEmpty());
+    }
+
+    @Test
+    public void testMembersShareTheEnvironmentOfTheirType() throws Exception {
+        final TypeInfo<?> typeInfo = fieldType("holder");
+        final MethodInfo getListOfT = typeInfo.getPublicMethods().stream()
+                .filter(i -> i.getName().equals("getListOfT"))
+                .findFirst()
+                .get();
+        Assert.assertEquals(
+                "java.util.List<com.github.zerkseez.reflection.types.SimpleClass>",
+                getListOfT.getReturnType().toString()
+        );
+        Assert.assertTrue(((AbstractTypeInfo<?>) typeInfo).getTypeBindings().getMemoizedResults()
+                .contains(getListOfT.getReturnType()));
+    }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericSubClassWithGenericArrayTypeParameter;
+import com.github.zerkseez.reflection.types.GenericSubClassWithWildcardTypeParameter;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class TypeEqualityTest {
+    @Test
+    public void testClassInfo() {
+        assertStructurallyEqual(ClassInfo.of(SubClass.class), new ClassInfo(SubClass.class));
+        Assert.assertNotEquals(ClassInfo.of(SubClass.class), ClassInfo.of(GenericClass.class));
+    }
+
+    @Test
+    public void testParameterizedTypeInfo() throws Exception {
+        final ParameterizedType type = (ParameterizedType) GenericClass.class.getMethod("getListOfT")
+                .getGenericReturnType();
+        assertStructurallyEqual(new ParameterizedTypeInfo(type), new ParameterizedTypeInfo(type));
+    }
+
+    @Test
+    public void testGenericArrayInfo() {
+        final Type type = ((ParameterizedType) GenericSubClassWithGenericArrayTypeParameter.class
+                .getGenericSuperclass()).getActualTypeArguments()[0];
+        assertStructurallyEqual(new GenericArrayInfo((GenericArrayType) type), new GenericArrayInfo((GenericArrayType) type));
+    }
+
+    @Test
+    public void testWildcardTypeInfo() {
+        final Type set = ((ParameterizedType) GenericSubClassWithWildcardTypeParameter.class
+                .getGenericSuperclass()).getActualTypeArguments()[0];
+        final WildcardType type = (WildcardType) ((ParameterizedType) set).getActualTypeArguments()[0];
+        assertStructurallyEqual(new WildcardTypeInfo(type), new WildcardTypeInfo(type));
+    }
+
+    @Test
+    public void testTypeVariableInfo() {
+        final TypeVariable<?> type = GenericClass.class.getTypeParameters()[0];
+        final TypeVariableInfo unbound = new TypeVariableInfo(type);
+        assertStructurallyEqual(unbound, new TypeVariableInfo(type));
+        Assert.assertEquals(unbound.withValue(ClassInfo.of(String.class)), new TypeVariableInfo(type).withValue(new ClassInfo(String.class)));
+        Assert.assertNotEquals(unbound, unbound.withValue(ClassInfo.of(String.class)));
+        Assert.assertNotEquals(unbound.withValue(ClassInfo.of(String.class)), unbound.withValue(ClassInfo.of(Integer.class)));
+        Assert.assertTrue(unbound.isSameTypeVariable(unbound.withValue(ClassInfo.of(String.class))));
+    }
+
+    @Test
+    public void testTypeVariablesOfOverloadedMethodsDiffer() throws Exception {
+        final TypeVariable<?> a = GenericClass.class.getMethod("testTypeVariableHiding", java.util.List.class)
+                .getTypeParameters()[0];
+        final TypeVariable<?> b = GenericClass.class.getMethod("testOverloading", Object[][].class)
+                .getTypeParameters()[0];
+        Assert.assertNotEquals(TypeVariableInfo.of(a), TypeVariableInfo.of(b));
+        Assert.assertFalse(TypeVariableInfo.of(a).isSameTypeVariable(TypeVariableInfo.of(b)));
+    }
+
+    @Test
+    public void testUsableAsMapKey() {
+        final Map<TypeInfo<?>, String> map = new HashMap<TypeInfo<?>, String>();
+        map.put(ClassInfo.of(SubClass.class), "SubClass");
+        Assert.assertEquals("SubClass", map.get(new ClassInfo(SubClass.class)));
+    }
+
+    private static void assertStructurallyEqual(final TypeInfo<?> a, final TypeInfo<?> b) {
+        Assert.assertNotSame(a, b);
+        Assert.assertEquals(a, b);
+        Assert.assertEquals(b, a);
+        Assert.assertEquals(a.hashCode(), b.hashCode());
+    }
+}
@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericSubSubClass;
+import com.github.zerkseez.reflection.types.SimpleClass;
+import com.github.zerkseez.reflection.types.SimpleInterface;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class TypeInfoDefaultMethodsTest {
+    /**
+     * Implements only the abstract methods of TypeInfo, so every default
+     * method is used as is
+     */
+    private static final class DelegatingTypeInfo implements TypeInfo<Type> {
+        private final TypeInfo<?> delegate;
+
+        DelegatingTypeInfo(final TypeInfo<?> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getId() {
+            return delegate.getId();
+        }
+
+        @Override
+        public List<Annotation> getAnnotations() {
+            return delegate.getAnnotations();
+        }
+
+        @Override
+        public <A extends Annotation> A getAnnotation(final Class<A> annotationType) {
+            return delegate.getAnnotation(annotationType);
+        }
+
+        @Override
+        public boolean isAnnotationPresent(final Class<? extends Annotation> annotationType) {
+            return delegate.isAnnotationPresent(annotationType);
+        }
+
+        @Override
+        public boolean hasTypeVariables() {
+            return delegate.hasTypeVariables();
+        }
+
+        @Override
+        public List<TypeVariableInfo> getTypeVariables() {
+            return delegate.getTypeVariables();
+        }
+
+        @Override
+        public boolean hasDeclaredTypeVariables() {
+            return delegate.hasDeclaredTypeVariables();
+        }
+
+        @Override
+        public List<TypeVariableInfo> getDeclaredTypeVariables() {
+            return delegate.getDeclaredTypeVariables();
+        }
+
+        @Override
+        public Type getType() {
+            return delegate.getType();
+        }
+
+        @Override
+        public Class<?> getErasedClass() {
+            return delegate.getErasedClass();
+        }
+
+        @Override
+        public String getFullBinaryName() {
+            return delegate.getFullBinaryName();
+        }
+
+        @Override
+        public String getFullCanonicalName() {
+            return delegate.getFullCanonicalName();
+        }
+
+        @Override
+        public String getSimpleName() {
+            return delegate.getSimpleName();
+        }
+
+        @Override
+        public String getPackageName() {
+            return delegate.getPackageName();
+        }
+
+        @Override
+        public int getModifiers() {
+            return delegate.getModifiers();
+        }
+
+        @Override
+        public TypeInfo<?> getSuperClass() {
+            return delegate.getSuperClass();
+        }
+
+        @Override
+        public List<TypeInfo<?>> getInterfaces() {
+            return delegate.getInterfaces();
+        }
+
+        @Override
+        public List<FieldInfo> getPublicFields() {
+            return delegate.getPublicFields();
+        }
+
+        @Override
+        public FieldInfo getPublicField(final String name) {
+            return delegate.getPublicField(name);
+        }
+
+        @Override
+        public List<FieldInfo> getDeclaredFields() {
+            return delegate.getDeclaredFields();
+        }
+
+        @Override
+        public List<ConstructorInfo> getPublicConstructors() {
+            return delegate.getPublicConstructors();
+        }
+
+        @Override
+        public List<ConstructorInfo> getDeclaredConstructors() {
+            return delegate.getDeclaredConstructors();
+        }
+
+        @Override
+        public List<MethodInfo> getPublicMethods() {
+            return delegate.getPublicMethods();
+        }
+
+        @Override
+        public List<MethodInfo> getDeclaredMethods() {
+            return delegate.getDeclaredMethods();
+        }
+
+        @Override
+        public boolean isPrimitive() {
+            return delegate.isPrimitive();
+        }
+
+        @Override
+        public boolean isArray() {
+            return delegate.isArray();
+        }
+
+        @Override
+        public TypeInfo<?> getArrayElementType() {
+            return delegate.getArrayElementType();
+        }
+
+        @Override
+        public boolean isEnum() {
+            return delegate.isEnum();
+        }
+
+        @Override
+        public List<Object> getEnumValues() {
+            return delegate.getEnumValues();
+        }
+
+        @Override
+        public boolean isInterface() {
+            return delegate.isInterface();
+        }
+
+        @Override
+        public boolean isAnnotation() {
+            return delegate.isAnnotation();
+        }
+
+        @Override
+        public boolean isAnonymousClass() {
+            return delegate.isAnonymousClass();
+        }
+
+        @Override
+        public boolean isMemberClass() {
+            return delegate.isMemberClass();
+        }
+
+        @Override
+        public boolean isLocalClass() {
+            return delegate.isLocalClass();
+        }
+
+        @Override
+        public boolean isSynthetic() {
+            return delegate.isSynthetic();
+        }
+
+        @Override
+        public boolean isTypeVariable() {
+            return delegate.isTypeVariable();
+        }
+
+        @Override
+        public String getTypeVariableName() {
+            return delegate.getTypeVariableName();
+        }
+
+        @Override
+        public TypeInfo<?> getTypeVariableValue() {
+            return delegate.getTypeVariableValue();
+        }
+
+        @Override
+        public boolean isWildcardType() {
+            return delegate.isWildcardType();
+        }
+
+        @Override
+        public List<TypeInfo<?>> getExtendsBounds() {
+            return delegate.getExtendsBounds();
+        }
+
+        @Override
+        public List<TypeInfo<?>> getSuperBounds() {
+            return delegate.getSuperBounds();
+        }
+
+        @Override
+        public String toString(final ToStringContext context, final boolean includeTypeVariables) {
+            return delegate.toString(context, includeTypeVariables);
+        }
+
+        @Override
+        public TypeInfo<?> substituteTypeVariableValues(final List<TypeVariableInfo> typeVariables) {
+            return delegate.substituteTypeVariableValues(typeVariables);
+        }
+    }
+
+    private static List<String> names(final List<TypeInfo<?>> types) {
+        return types.stream().map(i -> i.toString()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSupertypeDefaultsMatchAbstractTypeInfo() {
+        for (Class<?> type : new Class<?>[] { SubClass.class, GenericSubSubClass.class, ArrayList.class, SimpleInterface.class }) {
+            final TypeInfo<?> typeInfo = Reflection.getTypeInfo(type);
+            final TypeInfo<?> defaults = new DelegatingTypeInfo(typeInfo);
+            Assert.assertEquals(type.getName(), names(typeInfo.getAllSupertypes()), names(defaults.getAllSupertypes()));
+            for (TypeInfo<?> supertype : typeInfo.getAllSupertypes()) {
+                final Class<?> erasedClass = supertype.getErasedClass();
+                Assert.assertSame(typeInfo.getSupertype(erasedClass), defaults.getSupertype(erasedClass));
+                Assert.assertTrue(defaults.isSubclassOf(erasedClass));
+            }
+            Assert.assertNull(defaults.getSupertype(HashMap.class));
+            Assert.assertFalse(defaults.isSubclassOf(HashMap.class));
+        }
+        final TypeInfo<?> defaults = new DelegatingTypeInfo(Reflection.getTypeInfo(ArrayList.class));
+        Assert.assertEquals("E", defaults.resolveTypeArgument(List.class, 0).toString());
+        Assert.assertTrue(defaults.isAssignableFrom(Reflection.getTypeInfo(ArrayList.class)));
+        Assert.assertFalse(defaults.isAssignableFrom(Reflection.getTypeInfo(List.class)));
+    }
+
+    @Test
+    public void testMemberDefaultsMatchAbstractTypeInfo() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(SubClass.class);
+        final TypeInfo<?> defaults = new DelegatingTypeInfo(typeInfo);
+        Assert.assertEquals(typeInfo.getPublicMethods(), defaults.publicMethods().collect(Collectors.toList()));
+        Assert.assertEquals(typeInfo.getPublicFields(), defaults.publicFields().collect(Collectors.toList()));
+        Assert.assertSame(typeInfo.getPublicConstructor(), defaults.getPublicConstructor());
+        Assert.assertSame(
+                typeInfo.getPublicMethod("doSimpleOperation"),
+                defaults.getPublicMethod("doSimpleOperation")
+        );
+        Assert.assertNull(defaults.getPublicMethod("doSimpleOperation", String.class));
+        Assert.assertEquals(
+                typeInfo.getDeclaredMethodsByName("doSimpleOperation"),
+                defaults.getDeclaredMethodsByName("doSimpleOperation")
+        );
+        Assert.assertSame(
+                typeInfo.findBestMethod("equals", Reflection.getTypeInfo(SimpleClass.class)),
+                defaults.findBestMethod("equals", Reflection.getTypeInfo(SimpleClass.class))
+        );
+    }
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+import com.github.zerkseez.reflection.types.GenericInterfaceWithBounds;
+import com.github.zerkseez.reflection.types.SubClass;
+
+public class TypeInterningTest {
+    @Test
+    public void testEqualParameterizedTypesAreInterned() throws Exception {
+        final Type listOfT = GenericClass.class.getMethod("getListOfT").getGenericReturnType();
+        final Type listOfListOfT = GenericClass.class.getMethod("getListOfListOfT").getGenericReturnType();
+        final Type nestedListOfT = ((ParameterizedType) listOfListOfT).getActualTypeArguments()[0];
+        Assert.assertNotSame(listOfT, nestedListOfT);
+        Assert.assertSame(Reflection.getTypeInfo(listOfT), Reflection.getTypeInfo(nestedListOfT));
+    }
+
+    @Test
+    public void testEqualTypeVariablesAreInterned() throws Exception {
+        final Type a = GenericClass.class.getField("publicGenericField").getGenericType();
+        final Type b = GenericClass.class.getMethod("getT").getGenericReturnType();
+        Assert.assertSame(Reflection.getTypeInfo(a), Reflection.getTypeInfo(b));
+        Assert.assertSame(Reflection.getTypeInfo(a), Reflection.getTypeInfo(GenericClass.class).getTypeVariables().get(0));
+    }
+
+    @Test
+    public void testSubstitutionResultsAreInterned() {
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(GenericInterfaceWithBounds.class);
+        final TypeInfo<?> subClass = Reflection.getTypeInfo(SubClass.class);
+        final TypeVariableInfo typeVariable = typeInfo.getTypeVariables().get(0);
+        Assert.assertSame(typeVariable.withValue(subClass), typeVariable.withValue(subClass));
+
+        final List<TypeVariableInfo> bindings = typeInfo.getTypeVariables().stream()
+                .map(i -> i.withValue(subClass))
+                .collect(Collectors.toList());
+        Assert.assertSame(
+                typeInfo.substituteTypeVariableValues(bindings),
+                typeInfo.substituteTypeVariableValues(bindings)
+        );
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright 2016 Xerxes Tsang
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *******************************************************************************/
+package com.github.zerkseez.reflection;
+
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.zerkseez.reflection.types.GenericClass;
+
+public class TypeVariableIdentityTest {
+    public static class GenericConstructor {
+        public <T extends Number> GenericConstructor(final T value) {
+        }
+    }
+
+    @Test
+    public void testKeyIgnoresValue() {
+        final TypeVariableInfo typeVariable = TypeVariableInfo.of(GenericClass.class.getTypeParameters()[0]);
+        final TypeVariableInfo bound = typeVariable.withValue(ClassInfo.of(String.class));
+        Assert.assertEquals(typeVariable.getKey(), bound.getKey());
+        Assert.assertEquals(typeVariable.getKey().hashCode(), bound.getKey().hashCode());
+    }
+
+    @Test
+    public void testIds() throws Exception {
+        Assert.assertEquals(
+                "Class:com.github.zerkseez.reflection.types.GenericClass|TypeVariable:T",
+                TypeVariableInfo.of(GenericClass.class.getTypeParameters()[0]).getId()
+        );
+        final TypeVariable<?> methodTypeVariable = GenericClass.class.getMethod("testTypeVariableHiding", List.class)
+                .getTypeParameters()[0];
+        Assert.assertEquals(
+                "Class:com.github.zerkseez.reflection.types.GenericClass|Method:testTypeVariableHiding|TypeVariable:T",
+                TypeVariableInfo.of(methodTypeVariable).getId()
+        );
+        final TypeVariable<?> constructorTypeVariable = GenericConstructor.class.getConstructor(Number.class)
+                .getTypeParameters()[0];
+        Assert.assertEquals(
+                String.format("Class:%s|Constructor|TypeVariable:T", GenericConstructor.class.getName()),
+                TypeVariableInfo.of(constructorTypeVariable).getId()
+        );
+    }
+
+    @Test
+    public void testDefaultToStringContextKeysOnTypeVariables() {
+        final TypeVariableInfo typeVariable = TypeVariableInfo.of(GenericClass.class.getTypeParameters()[0]);
+        final TypeInfo.ToStringContext context = new TypeInfo.DefaultToStringContext();
+        Assert.assertFalse(context.isTypeVariableDefined(typeVariable));
+        context.defineTypeVariable(typeVariable);
+        Assert.assertTrue(context.isTypeVariableDefined(typeVariable));
+        Assert.assertTrue(context.isTypeVariableDefined(typeVariable.withValue(ClassInfo.of(String.class))));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDefaultToStringContextDoesNotBuildIds() {
+        final AtomicInteger ids = new AtomicInteger();
+        final TypeVariableInfo typeVariable = new TypeVariableInfo(GenericClass.class.getTypeParameters()[0]) {
+            @Override
+            protected String doGetId() {
+                ids.incrementAndGet();
+                return super.doGetId();
+            }
+        };
+        final TypeInfo.ToStringContext context = new TypeInfo.DefaultToStringContext();
+        Assert.assertFalse(context.isTypeVariableDefined(typeVariable));
+        context.defineTypeVariable(typeVariable);
+        Assert.assertTrue(context.isTypeVariableDefined(typeVariable));
+        Assert.assertEquals(0, ids.get());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testStringAndTypeVariableOverloadsShareDefinitions() {
+        final TypeVariableInfo typeVariable = TypeVariableInfo.of(GenericClass.class.getTypeParameters()[0]);
+        final TypeInfo.ToStringContext byId = new TypeInfo.DefaultToStringContext();
+        byId.defineTypeVariable(typeVariable.getId());
+        Assert.assertTrue(byId.isTypeVariableDefined(typeVariable));
+
+        final TypeInfo.ToStringContext byTypeVariable = new TypeInfo.DefaultToStringContext();
+        byTypeVariable.defineTypeVariable(typeVariable);
+        Assert.assertTrue(byTypeVariable.isTypeVariableDefined(typeVariable.getId()));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testContextOverridingStringMethodsSeesTypeVariables() {
+        final List<String> defined = new ArrayList<String>();
+        final TypeInfo.ToStringContext context = new TypeInfo.DefaultToStringContext() {
+            @Override
+            public void defineTypeVariable(final String typeVariableId) {
+                defined.add(typeVariableId);
+                super.defineTypeVariable(typeVariableId);
+            }
+        };
+        final TypeInfo<?> typeInfo = Reflection.getTypeInfo(GenericClass.class);
+        typeInfo.toString(context, true);
+        Assert.assertEquals(
+                Arrays.asList(TypeVariableInfo.of(GenericClass.class.getTypeParameters()[0]).getId()),
+                defined
+        );
+    }
+
+    @Test
+    public void testGenericConstructorToString() {
+        Assert.assertEquals(
+                "public <T extends java.lang.Number> GenericConstructor(T arg0)",
+                ClassInfo.of(GenericConstructor.class).getPublicConstructors().get(0).toString()
+        );
+    }
+}